@@ -0,0 +1,29 @@
+package cn.weicm.bench;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:24</p>
+ * <p>Desp: 基准测试入口：依次以每个并发数运行 JMH，其余命令行参数原样传给 JMH，如 -p size=128 UHttpBenchmark.get</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 并发数通过系统属性 bench.threads 指定，逗号分隔，默认为 1,8,32；运行方式：java -jar http-bench/target/benchmarks.jar</p>
+ */
+public class BenchRunner {
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        for (String threads : System.getProperty("bench.threads", "1,8,32").split(",")) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(cli)
+                    .threads(Integer.parseInt(threads.trim()));
+            if (cli.getIncludes().isEmpty()) {
+                options.include(UHttpBenchmark.class.getSimpleName());
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
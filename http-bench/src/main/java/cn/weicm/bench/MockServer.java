@@ -0,0 +1,94 @@
+package cn.weicm.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:24</p>
+ * <p>Desp: 基准测试用的本地HTTP服务：基于JDK内置的 HttpServer，读完请求体后返回 size 参数指定长度的应答体</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 路径以 /keep 开头时保持连接，以 /close 开头时应答后关闭连接，用于对比连接复用与每次新建连接</p>
+ */
+public class MockServer implements Closeable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    //按长度缓存的应答体，避免测量到服务端分配内存的开销
+    private final Map<Integer, byte[]> bodies = new ConcurrentHashMap<>();
+
+    static {
+        //JDK HttpServer 默认未开启 TCP_NODELAY，保持连接时应答头和应答体分开写出会触发 Nagle 与延迟确认，每次调用多出约40毫秒
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public MockServer(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:24</p>
+     * <p>Desp: 获取请求地址</p>
+     * @param pooled 是否复用连接
+     * @return 形如 http://127.0.0.1:端口/keep 的地址
+     */
+    public String url(boolean pooled) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + (pooled ? "/keep" : "/close");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) >= 0) {
+                //读完请求体，使连接可复用
+            }
+        }
+        byte[] body = bodies.computeIfAbsent(size(exchange.getRequestURI().getRawQuery()), MockServer::body);
+        if (exchange.getRequestURI().getPath().startsWith("/close")) {
+            exchange.getResponseHeaders().set("Connection", "close");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static int size(String query) {
+        if (null != query) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("size=")) {
+                    return Integer.parseInt(pair.substring(5));
+                }
+            }
+        }
+        return 2;
+    }
+
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'a');
+        return body;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
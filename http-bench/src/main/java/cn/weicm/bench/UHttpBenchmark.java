@@ -0,0 +1,131 @@
+package cn.weicm.bench;
+
+import cn.weicm.UHttp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:24</p>
+ * <p>Desp: UHttp 每次调用开销的基准测试：同时统计吞吐量和延迟分布，覆盖不同的负载大小、连接复用与否、同步与异步调用</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 并发数通过 JMH 的线程数控制，见 BenchRunner；size 对 GET 类调用是应答体长度，对 POST 类调用是请求体长度</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UHttpBenchmark {
+    @Param({"128", "16384", "1048576"})
+    private int size;
+    //false 时服务端每次应答后关闭连接，客户端每次调用都新建连接
+    @Param({"true", "false"})
+    private boolean pooled;
+
+    private MockServer server;
+    private UHttp http;
+    private String getUrl;
+    private String postUrl;
+    private String json;
+    private Map<String, String> form;
+    private List<File> files;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new MockServer(64);
+        http = UHttp.builder().name("bench").maxTotal(256).maxPerRoute(256).build();
+        getUrl = server.url(pooled) + "?size=" + size;
+        postUrl = server.url(pooled);
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'a');
+        String value = new String(chars);
+        json = "{\"v\":\"" + value + "\"}";
+        form = new HashMap<>();
+        form.put("v", value);
+        File file = File.createTempFile("uhttp-bench-", ".bin");
+        file.deleteOnExit();
+        Files.write(file.toPath(), value.getBytes());
+        files = Collections.singletonList(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        http.close();
+        server.close();
+        for (File file : files) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return http.get(getUrl, null);
+    }
+
+    @Benchmark
+    public byte[] getBytes() {
+        return http.getBytes(getUrl, null);
+    }
+
+    @Benchmark
+    public String post() {
+        return http.post(postUrl, json);
+    }
+
+    @Benchmark
+    public String postForm() {
+        return http.postForm(postUrl, form);
+    }
+
+    @Benchmark
+    public String upload() {
+        return http.upload(postUrl, null, files);
+    }
+
+    @Benchmark
+    public String getAsync() {
+        return http.getAsync(getUrl).join();
+    }
+
+    @Benchmark
+    public byte[] getBytesAsync() {
+        return http.getBytesAsync(getUrl, null).join();
+    }
+
+    @Benchmark
+    public String postAsync() {
+        return http.postAsync(postUrl, json).join();
+    }
+
+    @Benchmark
+    public String postFormAsync() {
+        return http.postFormAsync(postUrl, form).join();
+    }
+
+    @Benchmark
+    public String uploadAsync() {
+        return http.uploadAsync(postUrl, null, files).join();
+    }
+}
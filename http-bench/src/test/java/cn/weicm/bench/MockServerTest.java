@@ -0,0 +1,50 @@
+package cn.weicm.bench;
+
+import cn.weicm.UHttp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:14</p>
+ * <p>Desp: MockServer：应答体长度由 size 参数决定，/keep 保持连接，/close 应答后关闭连接</p>
+ */
+public class MockServerTest {
+    private MockServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockServer(4);
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void bodySizeFollowsQuery() {
+        assertEquals("aa", http.get(server.url(true)));
+        assertEquals(4096, http.getBytes(server.url(true), Collections.singletonMap("size", "4096")).length);
+        assertEquals(0, http.getBytes(server.url(true), Collections.singletonMap("size", "0")).length);
+    }
+
+    @Test
+    public void urlsSelectConnectionMode() {
+        assertTrue(server.url(true).endsWith("/keep"));
+        assertTrue(server.url(false).endsWith("/close"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("aa", http.get(server.url(false)));
+            assertEquals("aa", http.post(server.url(true), "{\"i\":" + i + "}"));
+        }
+    }
+}
@@ -1,58 +1,321 @@
 package cn.weicm;
 
+import cn.weicm.http.AdaptiveLimiter;
+import cn.weicm.http.BatchResult;
+import cn.weicm.http.BoundedCacheStorage;
+import cn.weicm.http.CachingDnsResolver;
+import cn.weicm.http.CallOptions;
+import cn.weicm.http.CircuitBreaker;
+import cn.weicm.http.CircuitBreakerConfig;
+import cn.weicm.http.CompressionStats;
+import cn.weicm.http.DaemonThreadFactory;
+import cn.weicm.http.DnsConfig;
+import cn.weicm.http.HostGuards;
+import cn.weicm.http.HttpCacheStats;
+import cn.weicm.http.HttpMetrics;
+import cn.weicm.http.HttpSettings;
+import cn.weicm.http.JmxHttpMetrics;
+import cn.weicm.http.JsonEntity;
+import cn.weicm.http.LayeredTimingSocketFactory;
+import cn.weicm.http.LimiterConfig;
+import cn.weicm.http.MeteringInterceptor;
+import cn.weicm.http.LatencyTracker;
+import cn.weicm.http.ProgressEntity;
+import cn.weicm.http.ProgressListener;
+import cn.weicm.http.RetryPolicy;
+import cn.weicm.http.SingleFlight;
+import cn.weicm.http.StatsCachingHttpClientBuilder;
+import cn.weicm.http.TimingDnsResolver;
+import cn.weicm.http.TimingRequestExecutor;
+import cn.weicm.http.TimingSocketFactory;
+import cn.weicm.http.UHttpException;
+import cn.weicm.http.UploadPart;
+import com.fasterxml.jackson.databind.JavaType;
+import com.jayway.jsonpath.TypeRef;
 import org.apache.commons.collections.MapUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.NameValuePair;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.InputStreamFactory;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.fluent.Content;
+import org.apache.http.client.fluent.ContentResponseHandler;
 import org.apache.http.client.fluent.Request;
+import org.apache.http.client.protocol.RequestAcceptEncoding;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.impl.client.AbstractResponseHandler;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.FileResourceFactory;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * <p>Author: weicm</p>
  * <p>Date: 2018/1/30 18:17</p>
  * <p>Desp: 基于Apache fluent-hc 实现的 Http 工具；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 每个实例独占一个长连接池，可通过 builder() 构建多个独立调优的实例，getInstance() 为默认配置的单例</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 超时时间、代理、连接池容量、压缩可通过构造器或 UConf 配置文件设置并热更新，也可通过 with(CallOptions) 按调用覆盖</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 请求失败时抛出 UHttpException（异步请求以其异常结束），按失败类型区分，不再返回null</p>
  */
-public class UHttp {
-    //连接超时时间
-    private static final Integer CONNECT_TIMEOUT = 10000;
-    //读取超时时间
-    private static final Integer READ_TIMEOUT = 10000;
-    //代理主机名
-    private static final String PROXY_HOST = null;
-    //代理主机端口
-    private static final Integer PROXY_PORT = null;
-    //代理协议
-    private static final String PROXY_SCHEMA = null;
-    private static UHttp instance;
-    private UHttp(){}
+public class UHttp implements Closeable {
+    //应答体写入文件时，单次通道传输的最大字节数
+    private static final long TRANSFER_SIZE = 8 * 1024 * 1024;
+    //对冲请求的触发延迟取近期请求延迟的分位数
+    private static final double HEDGE_QUANTILE = 0.95;
+    //缓存完整应答体的应答处理器，无应答体时返回空的应答上下文
+    private static final ResponseHandler<Content> CONTENT_HANDLER = response -> {
+        Content content = new ContentResponseHandler().handleResponse(response);
+        return null == content ? Content.NO_CONTENT : content;
+    };
+    private static volatile UHttp instance;
+    //实例序号，用于生成默认的实例名称
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    //当前实例独占的连接池
+    private final PoolingHttpClientConnectionManager connManager;
+    //基于连接池的HttpClient
+    private final CloseableHttpClient client;
+    //长连接保持策略，同步、异步客户端共用
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+    //超时时间、代理、连接池容量、压缩等可热更新的配置，只在根实例上读写
+    private volatile HttpSettings settings;
+    //配置文件监听任务，未监听时为null
+    private volatile ScheduledExecutorService watcher;
+    //已监听的配置文件路径和键前缀，避免重复监听
+    private final Set<String> watching = new HashSet<>();
+    //异步客户端 I/O reactor 线程数
+    private final int ioThreads;
+    //基于NIO的异步HttpClient，首次发起异步请求时创建
+    private volatile CloseableHttpAsyncClient asyncClient;
+    //异步客户端连接池，热更新连接池容量时同步调整
+    private volatile PoolingNHttpClientConnectionManager asyncConnManager;
+    //应答缓存统计，未开启缓存时各项均为0
+    private final HttpCacheStats cacheStats;
+    //应答缓存存储，未开启缓存时为null
+    private final BoundedCacheStorage cacheStorage;
+    //压缩统计
+    private final CompressionStats compressionStats;
+    //应答解压器，键为内容编码，同步、异步客户端共用
+    private final Map<String, InputStreamFactory> decoders;
+    //GET请求合并，未开启时为null
+    private final SingleFlight<Object, Content> singleFlight;
+    //请求合并键生成函数，参数为追加了请求参数的URL和请求头
+    private final BiFunction<String, Header[], ?> singleFlightKey;
+    //等待合并请求结果的超时时间，单位毫秒
+    private final long singleFlightTimeout;
+    //重试策略
+    private final RetryPolicy retryPolicy;
+    //对冲请求的最小触发延迟，单位毫秒，小于等于0表示不开启对冲
+    private final long hedgeMinDelay;
+    //近期请求延迟统计，用于计算对冲请求的触发延迟
+    private final LatencyTracker latencyTracker;
+    //执行对冲请求的线程池，未开启对冲时为null
+    private final ExecutorService hedgeExecutor;
+    //按主机隔离的熔断器和舱壁
+    private final HostGuards hostGuards;
+    //指标采集
+    private final HttpMetrics metrics;
+    //DNS缓存，未开启时为null
+    private final CachingDnsResolver dnsCache;
+    //同步和异步连接池共用的DNS解析器
+    private final DnsResolver dnsResolver;
+    //当前实例的调用配置
+    private final CallOptions options;
+    //持有连接池的根实例，通过 with 派生的实例与根实例共享连接池
+    private final UHttp root;
+
+    private UHttp(Builder builder) {
+        root = this;
+        cacheStats = new HttpCacheStats();
+        cacheStorage = builder.cacheMaxEntries > 0 ? new BoundedCacheStorage(builder.cacheMaxEntries, builder.cacheMaxBytes) : null;
+        compressionStats = new CompressionStats();
+        decoders = compressionStats.decoders();
+        metrics = null != builder.metrics ? builder.metrics : new JmxHttpMetrics();
+        DnsResolver resolver = new TimingDnsResolver(null != builder.dnsResolver ? builder.dnsResolver : SystemDefaultDnsResolver.INSTANCE, metrics);
+        dnsCache = null != builder.dns ? new CachingDnsResolver(resolver, builder.dns) : null;
+        dnsResolver = null != dnsCache ? dnsCache : resolver;
+        connManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimingSocketFactory(PlainConnectionSocketFactory.getSocketFactory(), metrics))
+                .register("https", new LayeredTimingSocketFactory(SSLConnectionSocketFactory.getSocketFactory(), metrics))
+                .build(), null, null, dnsResolver,
+                builder.connTimeToLive, TimeUnit.MILLISECONDS);
+        settings = builder.settings.copy();
+        connManager.setMaxTotal(settings.getMaxTotal());
+        connManager.setDefaultMaxPerRoute(settings.getMaxPerRoute());
+        connManager.setValidateAfterInactivity(builder.validateAfterInactivity);
+        for (Map.Entry<HttpRoute, Integer> entry : builder.routeMax.entrySet()) {
+            connManager.setMaxPerRoute(entry.getKey(), entry.getValue());
+        }
+        keepAliveStrategy = buildKeepAliveStrategy(builder.keepAlive);
+        ioThreads = builder.ioThreads;
+        singleFlight = builder.singleFlight ? new SingleFlight<>() : null;
+        singleFlightKey = null == builder.singleFlightKey ? UHttp::defaultSingleFlightKey : builder.singleFlightKey;
+        singleFlightTimeout = builder.singleFlightTimeout;
+        retryPolicy = builder.retryPolicy;
+        hedgeMinDelay = builder.hedgeMinDelay;
+        latencyTracker = new LatencyTracker(HEDGE_QUANTILE);
+        hedgeExecutor = hedgeMinDelay > 0 ? Executors.newCachedThreadPool(new DaemonThreadFactory("UHttp-hedge-")) : null;
+        hostGuards = new HostGuards(builder.circuitBreaker, builder.bulkheadMax, builder.bulkheadWait, builder.limiter);
+        options = CallOptions.create().deadline(builder.deadline);
+        MeteringInterceptor metering = new MeteringInterceptor(metrics);
+        client = buildClientBuilder(builder)
+                .setConnectionManager(connManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .setContentDecoderRegistry(decoders)
+                .setRequestExecutor(new TimingRequestExecutor(metrics, dnsCache))
+                .addInterceptorLast((HttpRequestInterceptor) metering)
+                .addInterceptorFirst((HttpResponseInterceptor) metering)
+                .evictExpiredConnections()
+                .evictIdleConnections(builder.maxIdleTime, TimeUnit.MILLISECONDS)
+                .build();
+        metrics.bind(null != builder.name ? builder.name : "UHttp-" + SEQUENCE.incrementAndGet(), connManager::getTotalStats);
+    }
+
+    private UHttp(UHttp base, CallOptions options) {
+        root = base.root;
+        connManager = base.connManager;
+        client = base.client;
+        keepAliveStrategy = base.keepAliveStrategy;
+        ioThreads = base.ioThreads;
+        cacheStats = base.cacheStats;
+        cacheStorage = base.cacheStorage;
+        compressionStats = base.compressionStats;
+        decoders = base.decoders;
+        singleFlight = base.singleFlight;
+        singleFlightKey = base.singleFlightKey;
+        singleFlightTimeout = base.singleFlightTimeout;
+        retryPolicy = base.retryPolicy;
+        hedgeMinDelay = base.hedgeMinDelay;
+        latencyTracker = base.latencyTracker;
+        hedgeExecutor = base.hedgeExecutor;
+        hostGuards = base.hostGuards;
+        metrics = base.metrics;
+        dnsCache = base.dnsCache;
+        dnsResolver = base.dnsResolver;
+        this.options = base.options.merge(options);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2018/2/27 14:25</p>
+     * <p>Desp: 获取默认配置的单例，单例同样基于独占连接池，不再依赖 fluent-hc 的全局连接池</p>
+     * @return 默认单例
+     */
     public static UHttp getInstance() {
         if (null == instance) {
             synchronized (UHttp.class) {
                 if (null == instance) {
-                    instance = new UHttp();
+                    instance = builder().build();
                 }
             }
         }
         return instance;
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:42</p>
+     * <p>Desp: 创建实例构造器，用于构建多个相互独立、单独调优的 UHttp 实例</p>
+     * @return 实例构造器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 派生使用指定调用配置的实例，如单次调用的时间预算；派生实例与当前实例共享连接池等资源，创建开销很小</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 例如：UHttp.getInstance().with(CallOptions.create().deadline(500)).get(url)</p>
+     * @param options 调用配置，已设置的项覆盖当前实例的配置
+     * @return 派生实例
+     */
+    public UHttp with(CallOptions options) {
+        return new UHttp(this, options);
+    }
+
     private static final Logger log = LoggerFactory.getLogger(UHttp.class);
 
     /**
@@ -79,6 +342,20 @@ public class UHttp {
         return getString(content);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:50</p>
+     * <p>Desp: GET请求，返回字符串，带参数和请求头</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param headers 请求头
+     * @return 应答体
+     */
+    public String get(String url, Map<String, String> params, Header... headers) {
+        Content content = executeGet(url, params, headers);
+        return getString(content);
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/2/27 14:28</p>
@@ -103,6 +380,106 @@ public class UHttp {
         return getBytes(content);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:05</p>
+     * <p>Desp: GET请求，应答体由 UJson 共享的 ObjectMapper 直接从应答流反序列化为指定类型，不生成中间字节数组和字符串</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 替代 UJson.parse(get(url, params), type)；应答体在处理器内完整解析，因此与 get 一样可重试、可对冲</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param type 泛型引用对象
+     * @param <T> 结果类型
+     * @return 解析结果，无应答体时返回null
+     * @throws UHttpException 请求异常，应答体无法解析时为 DECODE 类型
+     */
+    public <T> T getJson(String url, Map<String, String> params, TypeRef<T> type) {
+        return getJson(url, params, UJson.type(type));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:07</p>
+     * <p>Desp: GET请求，应答体直接从应答流反序列化为指定类，用于非泛型的结果类型，其余同 getJson(String, Map, TypeRef)</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param clazz 结果类
+     * @param <T> 结果类型
+     * @return 解析结果，无应答体时返回null
+     * @throws UHttpException 请求异常，应答体无法解析时为 DECODE 类型
+     */
+    public <T> T getJson(String url, Map<String, String> params, Class<T> clazz) {
+        return getJson(url, params, UJson.mapper().constructType(clazz));
+    }
+
+    private <T> T getJson(String url, Map<String, String> params, JavaType type) {
+        String getUrl = buildGetUrl(url, params);
+        return execute(new Call<>(getUrl, () -> new HttpGet(getUrl), jsonHandler(type), true, true));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:46</p>
+     * <p>Desp: GET请求，由自定义的应答处理器处理应答，应答体以流的方式交给处理器，不在内存中缓存</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：增量解析大应答体，如配合 Jackson 的流式解析器；处理器返回后应答体自动关闭</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param handler 应答处理器
+     * @param <T> 处理结果类型
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 处理器可能已消费部分应答体，因此流式请求不重试、不对冲</p>
+     * @return 处理器的处理结果
+     * @throws UHttpException 请求异常或处理器抛出I/O异常
+     */
+    public <T> T get(String url, Map<String, String> params, ResponseHandler<T> handler) {
+        String getUrl = buildGetUrl(url, params);
+        return execute(new Call<>(getUrl, () -> new HttpGet(getUrl), handler, false, false));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:46</p>
+     * <p>Desp: GET请求，以输入流的方式回调处理应答体，应答状态码大于等于300视为请求异常</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param handler 应答体输入流处理器
+     * @param <T> 处理结果类型
+     * @return 处理器的处理结果
+     * @throws UHttpException 请求异常或处理器抛出I/O异常
+     */
+    public <T> T getStream(String url, Map<String, String> params, StreamHandler<T> handler) {
+        return get(url, params, new AbstractResponseHandler<T>() {
+            @Override
+            public T handleEntity(HttpEntity entity) throws IOException {
+                try (InputStream in = entity.getContent()) {
+                    return handler.handle(in);
+                }
+            }
+        });
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:46</p>
+     * <p>Desp: GET请求，应答体通过NIO通道直接写入文件，内存占用与应答体大小无关</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param file 目标文件，已存在则覆盖
+     * @return 写入的字节数
+     * @throws UHttpException 请求异常或写入文件异常
+     */
+    public Long getToFile(String url, Map<String, String> params, Path file) {
+        return getStream(url, params, in -> {
+            try (ReadableByteChannel src = Channels.newChannel(in);
+                 FileChannel dst = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long total = 0;
+                long count;
+                while ((count = dst.transferFrom(src, total, TRANSFER_SIZE)) > 0) {
+                    total += count;
+                }
+                return total;
+            }
+        });
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/2/27 14:29</p>
@@ -121,22 +498,254 @@ public class UHttp {
      * <p>Author: weicm</p>
      * <p>Date: 2018/2/27 14:31</p>
      * <p>Desp: 通用配置的GET请求，默认配置：链接超时时间、读取超时时间</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 开启请求合并时，相同键（默认为URL加请求头）的并发请求只执行一次，共享同一应答上下文</p>
      * @param url 请求URL
      * @param params 请求参数
+     * @param headers 请求头
      * @return 应答上下文对象Content
+     * @throws UHttpException 请求异常
+     */
+    private Content executeGet(String url, Map<String, String> params, Header... headers) {
+        String getUrl = buildGetUrl(url, params);
+        Call<Content> call = new Call<>(getUrl, () -> {
+            HttpGet get = new HttpGet(getUrl);
+            get.setHeaders(headers);
+            return get;
+        }, CONTENT_HANDLER, true, true);
+        if (null == singleFlight) {
+            return execute(call);
+        }
+        Object key = singleFlightKey.apply(getUrl, headers);
+        try {
+            return singleFlight.execute(key, () -> execute(call), singleFlightTimeout);
+        } catch (UHttpException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            throw new UHttpException(UHttpException.Kind.TIMEOUT, getUrl, "Wait in-flight request timeout!", e);
+        } catch (Exception e) {
+            throw new UHttpException(UHttpException.Kind.IO, getUrl, "Wait in-flight request exception!", e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 执行调用：按重试策略重试可重试的失败，退避时长带随机抖动；开启对冲时超过近期P95延迟仍未应答则发送重复请求，取先到的应答</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 设置了时间预算时，每次请求的超时时间不超过剩余预算，预算耗尽抛出 DEADLINE 类型的异常</p>
+     * @param call 调用
+     * @param <T> 结果类型
+     * @return 调用结果
+     * @throws UHttpException 请求异常
+     */
+    private <T> T execute(Call<T> call) {
+        Long budget = options.getDeadline();
+        long deadlineAt = null != budget && budget > 0 ? System.currentTimeMillis() + budget : 0;
+        int maxAttempts = 1;
+        if (call.idempotent || (retryPolicy.isRetryNonIdempotent() && call.repeatable)) {
+            maxAttempts = null != options.getMaxAttempts() ? options.getMaxAttempts() : retryPolicy.getMaxAttempts();
+        }
+        boolean hedge = call.hedgeable && null != hedgeExecutor && !Boolean.FALSE.equals(options.getHedge());
+        for (int attempt = 1; ; attempt++) {
+            int timeout = remainingTimeout(call.url, deadlineAt);
+            try {
+                return hedge ? executeHedged(call, timeout) : executeOnce(call.request.get(), call, timeout);
+            } catch (UHttpException e) {
+                if (deadlineAt > 0 && System.currentTimeMillis() >= deadlineAt && UHttpException.Kind.TIMEOUT == e.getKind()) {
+                    throw new UHttpException(UHttpException.Kind.DEADLINE, call.url, "Deadline exceeded!", e);
+                }
+                long delay = retryPolicy.backoff(attempt);
+                if (attempt >= maxAttempts || !e.isRetryable()
+                        || (deadlineAt > 0 && System.currentTimeMillis() + delay >= deadlineAt)) {
+                    throw e;
+                }
+                log.warn("Request failed, retry after " + delay + "ms! attempt: " + attempt + ", " + e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new UHttpException(UHttpException.Kind.INTERRUPTED, call.url, "Retry interrupted!", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 计算本次请求的超时时间上限，即剩余时间预算</p>
+     * @param url 请求URL
+     * @param deadlineAt 时间预算的截止时间戳，0表示不限制
+     * @return 超时时间上限，单位毫秒，0表示不限制
+     * @throws UHttpException 时间预算已耗尽
+     */
+    private int remainingTimeout(String url, long deadlineAt) {
+        if (deadlineAt <= 0) {
+            return 0;
+        }
+        long remaining = deadlineAt - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new UHttpException(UHttpException.Kind.DEADLINE, url, "Deadline exceeded!", null);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 执行一次请求，请求前获取所在主机的舱壁和熔断器许可，请求后记录结果</p>
+     * @param request 请求对象
+     * @param call 调用
+     * @param timeout 超时时间上限，单位毫秒，0表示不限制
+     * @param <T> 结果类型
+     * @return 应答处理结果
+     * @throws UHttpException 请求异常
      */
-    private Content executeGet(String url, Map<String, String> params) {
-        Request request = null;
+    private <T> T executeOnce(HttpRequestBase request, Call<T> call, int timeout) {
+        request.setConfig(root.settings.requestConfig(options, timeout));
+        HostGuards.Permit permit;
         try {
-            url = buildGetUrl(url, params);
-            request = Request.Get(url);
-            request.connectTimeout(CONNECT_TIMEOUT).socketTimeout(READ_TIMEOUT);
-            request = buildProxy(request, PROXY_HOST, PROXY_PORT, PROXY_SCHEMA);
-            return request.execute().returnContent();
+            permit = hostGuards.acquire(call.host, call.url, true);
+        } catch (UHttpException e) {
+            metrics.recordCall(call.host, request.getMethod(), 0, e.getKind());
+            throw e;
+        }
+        long start = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean failure = true;
+        boolean overloaded = false;
+        boolean aborted = false;
+        UHttpException.Kind error = UHttpException.Kind.IO;
+        try {
+            T result = client.execute(request, call.handler);
+            failure = false;
+            error = null;
+            if (call.hedgeable) {
+                latencyTracker.record(System.currentTimeMillis() - start);
+            }
+            return result;
         } catch (IOException e) {
-            log.error("Get execute exception! url: " + request, e);
+            UHttpException ue = UHttpException.of(call.url, e);
+            //对冲中被主动中止的请求不计为失败
+            aborted = e instanceof RequestAbortedException;
+            failure = ue.isServerFailure() && !aborted;
+            overloaded = ue.isOverload();
+            error = ue.getKind();
+            throw ue;
+        } finally {
+            permit.release(System.currentTimeMillis() - start, failure, overloaded);
+            if (!aborted) {
+                metrics.recordCall(call.host, request.getMethod(), System.nanoTime() - startNanos, error);
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 执行对冲请求：主请求超过触发延迟仍未应答时发送一个重复请求，取先成功的应答并中止另一个请求</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 触发延迟取近期延迟的P95，且不小于配置的最小触发延迟；两个请求都失败时抛出最后一个失败</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 总等待时间为剩余时间预算，未设置时间预算时等待已发送的请求结束，每个请求自身受读取超时限制</p>
+     * @param call 调用
+     * @param timeout 超时时间上限，单位毫秒，0表示不限制
+     * @param <T> 结果类型
+     * @return 应答处理结果
+     * @throws UHttpException 请求异常
+     */
+    private <T> T executeHedged(Call<T> call, int timeout) {
+        long start = System.currentTimeMillis();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        //尚未失败的请求数，降为0时以最后一个失败结束结果
+        AtomicInteger pending = new AtomicInteger(1);
+        HttpRequestBase primary = call.request.get();
+        HttpRequestBase hedge = null;
+        submitHedged(primary, call, timeout, result, pending);
+        try {
+            long delay = Math.max(hedgeMinDelay, latencyTracker.quantile());
+            if (timeout > 0) {
+                delay = Math.min(delay, timeout);
+            }
+            try {
+                return result.get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                //主请求恰好已失败时结果已结束，不再发送对冲请求，否则先登记再发送，避免主请求的失败提前结束结果
+                if (tryIncrementPending(pending)) {
+                    hedge = call.request.get();
+                    submitHedged(hedge, call, timeout, result, pending);
+                }
+            }
+            if (timeout <= 0) {
+                return result.get();
+            }
+            long remaining = timeout - (System.currentTimeMillis() - start);
+            return result.get(Math.max(remaining, 1), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UHttpException(UHttpException.Kind.TIMEOUT, call.url, "Hedged request timeout!", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof UHttpException ? (UHttpException) cause
+                    : new UHttpException(UHttpException.Kind.IO, call.url, "Hedged request exception!", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UHttpException(UHttpException.Kind.INTERRUPTED, call.url, "Hedged request interrupted!", e);
+        } finally {
+            primary.abort();
+            if (null != hedge) {
+                hedge.abort();
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 在对冲线程池中执行一个请求，成功则完成结果，所有已发送的请求都失败时以最后一个失败结束</p>
+     */
+    private <T> void submitHedged(HttpRequestBase request, Call<T> call, int timeout, CompletableFuture<T> result,
+                                  AtomicInteger pending) {
+        hedgeExecutor.execute(() -> {
+            try {
+                result.complete(executeOnce(request, call, timeout));
+            } catch (UHttpException e) {
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:59</p>
+     * <p>Desp: 为对冲请求登记一个未失败的请求数，已发送的请求都已失败时不登记</p>
+     * @param pending 尚未失败的请求数
+     * @return 是否登记成功
+     */
+    private static boolean tryIncrementPending(AtomicInteger pending) {
+        for (int current = pending.get(); current > 0; current = pending.get()) {
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:50</p>
+     * <p>Desp: 默认的请求合并键：请求URL加全部请求头</p>
+     * @param url 追加了请求参数的URL
+     * @param headers 请求头
+     * @return 请求合并键
+     */
+    private static Object defaultSingleFlightKey(String url, Header[] headers) {
+        if (null == headers || headers.length == 0) {
+            return url;
+        }
+        StringBuilder key = new StringBuilder(url);
+        for (Header header : headers) {
+            key.append('\n').append(header.getName()).append(": ").append(header.getValue());
         }
-        return null;
+        return key.toString();
     }
 
     /**
@@ -254,6 +863,68 @@ public class UHttp {
         return getBytes(content);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:05</p>
+     * <p>Desp: POST请求，请求对象直接序列化到连接输出流，应答体直接从应答流反序列化为指定类型，均使用 UJson 共享的 ObjectMapper</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 替代 UJson.parse(post(url, UJson.str(body)), type)；请求体以 chunked 方式发送，不参与请求体压缩</p>
+     * @param url 请求URL
+     * @param body 请求对象
+     * @param type 泛型引用对象
+     * @param <T> 结果类型
+     * @return 解析结果，无应答体时返回null
+     * @throws UHttpException 请求异常，应答体无法解析时为 DECODE 类型
+     */
+    public <T> T postJson(String url, Object body, TypeRef<T> type) {
+        return postJson(url, body, UJson.type(type));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:07</p>
+     * <p>Desp: POST请求，请求对象直接序列化到连接输出流，应答体直接从应答流反序列化为指定类，其余同 postJson(String, Object, TypeRef)</p>
+     * @param url 请求URL
+     * @param body 请求对象
+     * @param clazz 结果类
+     * @param <T> 结果类型
+     * @return 解析结果，无应答体时返回null
+     * @throws UHttpException 请求异常，应答体无法解析时为 DECODE 类型
+     */
+    public <T> T postJson(String url, Object body, Class<T> clazz) {
+        return postJson(url, body, UJson.mapper().constructType(clazz));
+    }
+
+    private <T> T postJson(String url, Object body, JavaType type) {
+        HttpEntity entity = new JsonEntity(UJson.mapper(), body);
+        return execute(new Call<>(url, () -> buildPost(url, entity), jsonHandler(type), false, false));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:05</p>
+     * <p>Desp: 创建JSON应答处理器，从应答流反序列化，应答声明了非UTF编码的字符集时按该字符集读取</p>
+     * @param type 结果类型
+     * @param <T> 结果类型
+     * @return 应答处理器，状态码大于等于300时抛出 HttpResponseException
+     */
+    private static <T> ResponseHandler<T> jsonHandler(JavaType type) {
+        return new AbstractResponseHandler<T>() {
+            @Override
+            public T handleEntity(HttpEntity entity) throws IOException {
+                if (entity.getContentLength() == 0) {
+                    return null;
+                }
+                Charset charset = ContentType.getOrDefault(entity).getCharset();
+                try (InputStream in = entity.getContent()) {
+                    if (null == charset || charset.name().startsWith("UTF-")) {
+                        return UJson.mapper().readValue(in, type);
+                    }
+                    return UJson.mapper().readValue(new InputStreamReader(in, charset), type);
+                }
+            }
+        };
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/2/27 14:44</p>
@@ -269,6 +940,387 @@ public class UHttp {
     }
 
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 流式上传，返回String</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 各部分在发送时才读取并直接写入连接，文件部分通过 FileChannel.transferTo 传输；存在长度未知的部分时使用 chunked 传输</p>
+     * @param url 请求URL
+     * @param params 请求参数，可为null
+     * @param parts 上传部分列表
+     * @param listener 发送进度监听器，可为null
+     * @return String类型的应答体
+     */
+    public String upload(String url, Map<String, String> params, List<UploadPart> parts, ProgressListener listener) {
+        HttpEntity entity = buildUploadEntity(params, parts);
+        if (null != listener) {
+            entity = new ProgressEntity(entity, listener);
+        }
+        Content content = executePost(url, entity);
+        return getString(content);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步GET请求，返回字符串，不带参数</p>
+     * @param url 请求URL
+     * @return 应答体的异步结果
+     */
+    public CompletableFuture<String> getAsync(String url) {
+        return getAsync(url, null);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步GET请求，返回字符串，带参数；请求由少量 I/O reactor 线程驱动，不占用调用线程</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<String> getAsync(String url, Map<String, String> params) {
+        return executeAsync(new HttpGet(buildGetUrl(url, params))).thenApply(this::getString);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步GET请求，返回字节数组，带参数</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<byte[]> getBytesAsync(String url, Map<String, String> params) {
+        return executeAsync(new HttpGet(buildGetUrl(url, params))).thenApply(this::getBytes);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步POST请求，返回String，带json类型的请求参数</p>
+     * @param url 请求URL
+     * @param json 请求参数
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<String> postAsync(String url, String json) {
+        return executeAsync(buildPost(url, buildJsonEntity(json))).thenApply(this::getString);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步POST请求，返回byte[]，带json类型的请求参数</p>
+     * @param url 请求URL
+     * @param json 请求参数
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<byte[]> postBytesAsync(String url, String json) {
+        return executeAsync(buildPost(url, buildJsonEntity(json))).thenApply(this::getBytes);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步POST表单请求，返回String，带参数</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<String> postFormAsync(String url, Map<String, String> params) {
+        return executeAsync(buildPost(url, buildFormEntity(params))).thenApply(this::getString);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 异步上传文件，返回String</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 注意：NIO客户端需要可读取的请求体，multipart请求体会先在内存中生成，大文件请使用同步 upload</p>
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param files 上传文件列表
+     * @return 应答体的异步结果，请求失败时以异常结束
+     */
+    public CompletableFuture<String> uploadAsync(String url, Map<String, String> params, List<File> files) {
+        HttpEntity entity;
+        try {
+            entity = bufferEntity(buildMultipartEntity(params, files));
+        } catch (IOException e) {
+            CompletableFuture<Content> failed = new CompletableFuture<>();
+            failed.completeExceptionally(UHttpException.of(url, e));
+            return failed.thenApply(this::getString);
+        }
+        return executeAsync(buildPost(url, entity)).thenApply(this::getString);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:03</p>
+     * <p>Desp: 批量GET请求，返回String，以有限并发在共享连接池上执行，阻塞到全部请求结束</p>
+     * @param urls 请求URL列表
+     * @param concurrency 最大并发请求数，不宜超过每个路由最大连接数
+     * @return 与请求顺序一致的结果列表，单个请求失败不影响其它请求
+     * @throws UHttpException 等待过程中被中断，此时未完成的请求会被取消
+     */
+    public List<BatchResult<String>> getBatch(List<String> urls, int concurrency) {
+        return executeBatch(urls, url -> executeAsync(new HttpGet(url)).thenApply(this::getString), concurrency);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:03</p>
+     * <p>Desp: 批量POST请求，返回String，向同一URL发送多个json请求体，以有限并发在共享连接池上执行，阻塞到全部请求结束</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 用于替代循环调用 post(url, json)：多个请求同时在多条长连接上传输，总耗时约为 请求数/并发数 个往返</p>
+     * @param url 请求URL
+     * @param jsons json请求体列表
+     * @param concurrency 最大并发请求数，不宜超过每个路由最大连接数
+     * @return 与请求顺序一致的结果列表，单个请求失败不影响其它请求
+     * @throws UHttpException 等待过程中被中断，此时未完成的请求会被取消
+     */
+    public List<BatchResult<String>> postBatch(String url, List<String> jsons, int concurrency) {
+        return executeBatch(jsons, json -> executeAsync(buildPost(url, buildJsonEntity(json))).thenApply(this::getString),
+                concurrency);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:03</p>
+     * <p>Desp: 以有限并发执行批量异步请求：调用线程在并发数达到上限时等待，任一请求结束即发送下一个请求</p>
+     * @param items 请求参数列表
+     * @param request 根据请求参数发送异步请求
+     * @param concurrency 最大并发请求数
+     * @param <I> 请求参数类型
+     * @param <T> 应答体类型
+     * @return 与请求顺序一致的结果列表
+     * @throws UHttpException 等待过程中被中断
+     */
+    private <I, T> List<BatchResult<T>> executeBatch(List<I> items, Function<I, CompletableFuture<T>> request, int concurrency) {
+        int size = items.size();
+        List<BatchResult<T>> results = new ArrayList<>(Collections.nCopies(size, null));
+        List<CompletableFuture<T>> futures = new ArrayList<>(size);
+        Semaphore permits = new Semaphore(Math.max(concurrency, 1));
+        CountDownLatch done = new CountDownLatch(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                permits.acquire();
+                final int index = i;
+                CompletableFuture<T> future;
+                try {
+                    future = request.apply(items.get(i));
+                } catch (RuntimeException e) {
+                    //构建请求时同步抛出的异常（如URL格式错误）只作为该请求的失败结果，不影响其他请求
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                futures.add(future);
+                future.whenComplete((value, e) -> {
+                    results.set(index, new BatchResult<>(index, value, null == e ? null : toBatchError(e)));
+                    permits.release();
+                    done.countDown();
+                });
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (CompletableFuture<T> future : futures) {
+                future.cancel(true);
+            }
+            throw new UHttpException(UHttpException.Kind.INTERRUPTED, null, "Batch request interrupted!", e);
+        }
+        return results;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:03</p>
+     * <p>Desp: 将批量请求中单个请求的异常转换为 UHttpException</p>
+     */
+    private static UHttpException toBatchError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+        return cause instanceof UHttpException ? (UHttpException) cause
+                : new UHttpException(UHttpException.Kind.IO, null, "Batch request exception!", cause);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 通用配置的异步请求，默认配置与同步请求一致：链接超时时间、读取超时时间、获取连接超时时间、代理</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 请求失败时以 UHttpException 异常结束，应答状态码大于等于300时为 STATUS 类型；异步请求不重试</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 取消返回的 CompletableFuture 会同时取消底层请求</p>
+     * @param request 请求对象
+     * @return 应答上下文对象Content的异步结果
+     */
+    private CompletableFuture<Content> executeAsync(HttpRequestBase request) {
+        request.setConfig(root.settings.requestConfig(options, 0));
+        final CompletableFuture<Content> result = new CompletableFuture<>();
+        final String url = request.getURI().toString();
+        final String host = HostGuards.hostOf(url);
+        //先获取客户端再获取许可，创建客户端失败时不占用许可
+        final CloseableHttpAsyncClient client;
+        try {
+            client = root.asyncClient();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(new UHttpException(UHttpException.Kind.IO, url, "Create async client exception!", e));
+            return result;
+        }
+        final HostGuards.Permit permit;
+        try {
+            permit = hostGuards.acquire(host, url, false);
+        } catch (UHttpException e) {
+            metrics.recordCall(host, request.getMethod(), 0, e.getKind());
+            result.completeExceptionally(e);
+            return result;
+        }
+        final long start = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
+        result.whenComplete((content, e) -> {
+            UHttpException ue = e instanceof UHttpException ? (UHttpException) e : null;
+            permit.release(System.currentTimeMillis() - start, null != ue && ue.isServerFailure(), null != ue && ue.isOverload());
+            metrics.recordCall(host, request.getMethod(), System.nanoTime() - startNanos,
+                    null == e ? null : null != ue ? ue.getKind() : UHttpException.Kind.IO);
+        });
+        final Future<HttpResponse> future;
+        try {
+            future = client.execute(request, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    try {
+                        result.complete(toContent(host, request, response));
+                    } catch (IOException e) {
+                        result.completeExceptionally(UHttpException.of(url, e));
+                    }
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    result.completeExceptionally(e instanceof IOException ? UHttpException.of(url, (IOException) e)
+                            : new UHttpException(UHttpException.Kind.IO, url, "Async execute exception!", e));
+                }
+
+                @Override
+                public void cancelled() {
+                    result.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            //客户端已关闭等情况下同步抛出，结束结果以归还许可
+            result.completeExceptionally(new UHttpException(UHttpException.Kind.IO, url, "Async execute exception!", e));
+            return result;
+        }
+        result.whenComplete((content, e) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 将应答转换为应答上下文对象Content，状态码大于等于300时抛出 HttpResponseException</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 应答体带有支持的 Content-Encoding 时先解压；异步客户端没有协议拦截器统计字节数，在此记录</p>
+     * @param host 主机
+     * @param request 请求对象
+     * @param response 应答
+     * @return 应答上下文对象Content
+     * @throws IOException 读取应答体异常或状态码异常
+     */
+    private Content toContent(String host, HttpRequestBase request, HttpResponse response) throws IOException {
+        StatusLine statusLine = response.getStatusLine();
+        HttpEntity entity = response.getEntity();
+        byte[] body = null == entity ? new byte[0] : EntityUtils.toByteArray(entity);
+        HttpEntity requestEntity = request instanceof HttpPost ? ((HttpPost) request).getEntity() : null;
+        metrics.recordBytes(host, null == requestEntity ? 0 : Math.max(requestEntity.getContentLength(), 0), body.length);
+        if (statusLine.getStatusCode() >= 300) {
+            throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+        }
+        if (null == entity) {
+            return Content.NO_CONTENT;
+        }
+        Header encoding = entity.getContentEncoding();
+        InputStreamFactory decoder = null == encoding ? null : decoders.get(encoding.getValue().trim().toLowerCase(Locale.ROOT));
+        if (null != decoder && body.length > 0) {
+            try (InputStream in = decoder.create(new ByteArrayInputStream(body))) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                for (int n; (n = in.read(buffer)) != -1; ) {
+                    out.write(buffer, 0, n);
+                }
+                return new Content(out.toByteArray(), ContentType.getOrDefault(entity));
+            }
+        }
+        return new Content(body, ContentType.getOrDefault(entity));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 获取异步客户端，首次调用时创建并启动，避免只使用同步请求的实例启动 I/O reactor 线程</p>
+     * @return 异步客户端
+     */
+    private CloseableHttpAsyncClient asyncClient() {
+        if (null == asyncClient) {
+            synchronized (this) {
+                if (null == asyncClient) {
+                    IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                            .setIoThreadCount(ioThreads)
+                            .setConnectTimeout(settings.getConnectTimeout())
+                            .setSoTimeout(settings.getSocketTimeout())
+                            .build();
+                    PoolingNHttpClientConnectionManager newConnManager;
+                    try {
+                        newConnManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig),
+                                ManagedNHttpClientConnectionFactory.INSTANCE, dnsResolver);
+                    } catch (IOReactorException e) {
+                        throw new IllegalStateException("Create IOReactor exception!", e);
+                    }
+                    newConnManager.setMaxTotal(settings.getMaxTotal());
+                    newConnManager.setDefaultMaxPerRoute(settings.getMaxPerRoute());
+                    asyncConnManager = newConnManager;
+                    CloseableHttpAsyncClient newClient = HttpAsyncClients.custom()
+                            .setConnectionManager(newConnManager)
+                            .setKeepAliveStrategy(keepAliveStrategy)
+                            //异步客户端不支持自动解压，由请求拦截器声明 Accept-Encoding，应答在 toContent 中解压
+                            //拦截器与同步客户端相同，按请求配置的 contentCompressionEnabled（来自 HttpSettings/CallOptions 的 compression）决定是否声明
+                            .addInterceptorLast(new RequestAcceptEncoding(new ArrayList<>(decoders.keySet())))
+                            .build();
+                    newClient.start();
+                    asyncClient = newClient;
+                }
+            }
+        }
+        return asyncClient;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 根据请求URL和请求体构建POST请求对象</p>
+     * @param url 请求URL
+     * @param entity 请求体
+     * @return POST请求对象
+     */
+    private HttpPost buildPost(String url, HttpEntity entity) {
+        HttpPost post = new HttpPost(url);
+        post.setEntity(entity);
+        return post;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:45</p>
+     * <p>Desp: 将请求体写入内存，转换为可重复读取的请求体</p>
+     * @param entity 请求体
+     * @return 内存中的请求体
+     * @throws IOException 写入异常
+     */
+    private HttpEntity bufferEntity(HttpEntity entity) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        return new ByteArrayEntity(out.toByteArray(), ContentType.parse(entity.getContentType().getValue()));
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/2/27 14:45</p>
@@ -289,17 +1341,11 @@ public class UHttp {
      * @param url 请求URL
      * @param entity 请求体对象
      * @return 应答上下文对象Context
+     * @throws UHttpException 请求异常
      */
     private Content executePost(String url, HttpEntity entity) {
-        try {
-            Request request = Request.Post(url).body(entity);
-            request.connectTimeout(CONNECT_TIMEOUT).socketTimeout(READ_TIMEOUT);
-            request = buildProxy(request, PROXY_HOST, PROXY_PORT, PROXY_SCHEMA);
-            return request.execute().returnContent();
-        } catch (IOException e) {
-            log.error("Post execute exception! url: " + url, e);
-        }
-        return null;
+        boolean repeatable = null == entity || entity.isRepeatable();
+        return execute(new Call<>(url, () -> buildPost(url, entity), CONTENT_HANDLER, false, false, repeatable));
     }
 
     /**
@@ -310,7 +1356,7 @@ public class UHttp {
      * @return json类型的请求体对象
      */
     private HttpEntity buildJsonEntity(String json) {
-        return new StringEntity(json, ContentType.APPLICATION_JSON);
+        return compressEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
     }
 
     /**
@@ -331,7 +1377,33 @@ public class UHttp {
         } catch (UnsupportedEncodingException e) {
             log.error("Build FormEntity exception! params: " + params, e);
         }
-        return entity;
+        return compressEntity(entity);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 开启请求体压缩且请求体达到阈值时，将请求体以gzip压缩，并设置 Content-Encoding: gzip</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 压缩结果在内存中，带确定的 Content-Length 且可重复发送，不影响重试；长度未知或已编码的请求体原样返回</p>
+     * @param entity 请求体
+     * @return 压缩后的请求体，或原请求体
+     */
+    private HttpEntity compressEntity(HttpEntity entity) {
+        int threshold = root.settings.getRequestCompressionThreshold();
+        if (null == entity || threshold < 0 || entity.getContentLength() < threshold || null != entity.getContentEncoding()) {
+            return entity;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.max(entity.getContentLength() / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            entity.writeTo(gzip);
+        } catch (IOException e) {
+            log.error("Compress entity exception!", e);
+            return entity;
+        }
+        ByteArrayEntity compressed = new ByteArrayEntity(out.toByteArray(), ContentType.get(entity));
+        compressed.setContentEncoding("gzip");
+        compressionStats.recordRequest(entity.getContentLength(), compressed.getContentLength());
+        return compressed;
     }
 
     /**
@@ -347,31 +1419,800 @@ public class UHttp {
         for (File file : files) {
             builder.addBinaryBody(file.getName(), file, ContentType.APPLICATION_OCTET_STREAM, file.getName());
         }
+        addTextBodies(builder, params);
+        return builder.build();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 根据请求参数和上传部分列表构建上传类型的请求体对象 MultipartEntity</p>
+     * @param params 请求参数
+     * @param parts 上传部分列表
+     * @return 请求体对象
+     */
+    private HttpEntity buildUploadEntity(Map<String, String> params, List<UploadPart> parts) {
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        for (UploadPart part : parts) {
+            builder.addPart(part.getName(), part.getBody());
+        }
+        addTextBodies(builder, params);
+        return builder.build();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 将请求参数以UTF-8文本部分添加到上传请求体</p>
+     * @param builder 上传请求体构造器
+     * @param params 请求参数
+     */
+    private void addTextBodies(MultipartEntityBuilder builder, Map<String, String> params) {
+        if (MapUtils.isEmpty(params)) {
+            return;
+        }
         for (String key : params.keySet()) {
             //设置ContentType为UTF-8,默认为text/plain; charset=ISO-8859-1,传递中文参数会乱码
             builder.addTextBody(key, params.get(key), ContentType.create("text/plain", Consts.UTF_8));
         }
-        return builder.build();
     }
 
     /**
      * <p>Author: weicm</p>
-     * <p>Date: 2018/2/27 14:56</p>
-     * <p>Desp: 根据指定的主机名、端口号、协议，给请求对象设置代理</p>
-     * @param request 请求对象
-     * @param hostName 代理主机名
-     * @param port 代理主机端口
-     * @param schemeName 代理协议
-     * @return 设置过代理的请求对象Request
-     */
-    private Request buildProxy(Request request, String hostName, Integer port, String schemeName) {
-        if (StringUtils.isNotEmpty(hostName) && port != null) {
-            //设置代理
-            if (StringUtils.isEmpty(schemeName)) {
-                schemeName = HttpHost.DEFAULT_SCHEME_NAME;
+     * <p>Date: 2026/10/17 20:49</p>
+     * <p>Desp: 创建HttpClient构造器，开启缓存时使用遵循HTTP缓存语义的缓存客户端</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 缓存遵循 Cache-Control/Expires，过期条目通过 ETag/Last-Modified 条件请求验证；只缓存GET应答，POST等请求会使对应URL的缓存失效</p>
+     * @param builder 实例构造器
+     * @return HttpClient构造器
+     */
+    private HttpClientBuilder buildClientBuilder(Builder builder) {
+        if (null == cacheStorage) {
+            return HttpClients.custom();
+        }
+        StatsCachingHttpClientBuilder clientBuilder = new StatsCachingHttpClientBuilder(cacheStats);
+        clientBuilder.setCacheConfig(CacheConfig.custom()
+                .setMaxCacheEntries(builder.cacheMaxEntries)
+                .setMaxObjectSize(builder.cacheMaxObjectSize)
+                .setSharedCache(false)
+                .build());
+        clientBuilder.setHttpCacheStorage(cacheStorage);
+        if (null != builder.cacheDir) {
+            clientBuilder.setResourceFactory(new FileResourceFactory(builder.cacheDir.toFile()));
+        }
+        return clientBuilder;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 获取主机的熔断器，可查看熔断状态</p>
+     * @param host 主机，格式为 协议://主机:端口，与请求URL中的写法一致
+     * @return 熔断器，未开启熔断时返回null
+     */
+    public CircuitBreaker circuitBreaker(String host) {
+        return hostGuards.breaker(host);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取主机的自适应并发限制器，可查看当前并发上限</p>
+     * @param host 主机，格式为 协议://主机:端口，与请求URL中的写法一致
+     * @return 自适应并发限制器，未开启时返回null
+     */
+    public AdaptiveLimiter concurrencyLimiter(String host) {
+        return hostGuards.adaptiveLimiter(host);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 获取当前生效的配置</p>
+     * @return 配置，修改返回的对象不会影响实例
+     */
+    public HttpSettings settings() {
+        return root.settings.copy();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 热更新配置，之后发起的请求使用新的超时时间、代理和压缩配置，连接池容量立即调整；派生实例与根实例共享配置</p>
+     * @param settings 新配置
+     */
+    public void reload(HttpSettings settings) {
+        if (root != this) {
+            root.reload(settings);
+            return;
+        }
+        HttpSettings newSettings = settings.copy();
+        synchronized (this) {
+            connManager.setMaxTotal(newSettings.getMaxTotal());
+            connManager.setDefaultMaxPerRoute(newSettings.getMaxPerRoute());
+            if (null != asyncConnManager) {
+                asyncConnManager.setMaxTotal(newSettings.getMaxTotal());
+                asyncConnManager.setDefaultMaxPerRoute(newSettings.getMaxPerRoute());
             }
-            request.viaProxy(new HttpHost(hostName, port, schemeName));
+            this.settings = newSettings;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 以当前配置为基础，用属性中存在的键热更新配置，键格式见 HttpSettings</p>
+     * @param props 属性
+     * @param prefix 键前缀，如 uhttp.，可为空字符串
+     * @throws IllegalArgumentException 属性值格式错误，此时配置保持不变
+     */
+    public void reload(Properties props, String prefix) {
+        reload(root.settings.merge(props, prefix));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 监听 classpath 下的配置文件，文件修改后自动热更新配置；实例关闭时停止监听</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 通过定时检查文件修改时间实现，配置文件必须位于 classpath 目录中（jar包内的文件无法修改，不支持监听）</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 同一文件和键前缀只监听一次，重复调用被忽略</p>
+     * @param file 配置文件名，按 UConf.getAbsolutePath 规则查找
+     * @param prefix 键前缀，如 uhttp.，可为空字符串
+     * @param interval 检查间隔，单位毫秒
+     * @throws IllegalArgumentException 找不到配置文件
+     */
+    public synchronized void watch(String file, String prefix, long interval) {
+        if (root != this) {
+            root.watch(file, prefix, interval);
+            return;
+        }
+        String path = UConf.getAbsolutePath(file);
+        if (null == path) {
+            throw new IllegalArgumentException("File doesn't exists in classpath! file: " + file);
+        }
+        if (!watching.add(path + "\n" + prefix)) {
+            return;
+        }
+        final File confFile = new File(path);
+        if (null == watcher) {
+            watcher = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("UHttp-watcher-"));
+        }
+        final long[] lastModified = {confFile.lastModified()};
+        watcher.scheduleWithFixedDelay(() -> {
+            long modified = confFile.lastModified();
+            if (modified == lastModified[0]) {
+                return;
+            }
+            lastModified[0] = modified;
+            try (InputStream in = new FileInputStream(confFile)) {
+                Properties props = new Properties();
+                props.load(in);
+                reload(props, prefix);
+                log.info("Reload UHttp settings! file: " + path);
+            } catch (Exception e) {
+                log.error("Reload UHttp settings exception! file: " + path, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 获取压缩统计，包括请求体压缩和应答解压节省的字节数</p>
+     * @return 压缩统计
+     */
+    public CompressionStats compressionStats() {
+        return compressionStats;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 获取指标采集实现，默认实现可强转为 JmxHttpMetrics 查看延迟直方图等统计</p>
+     * @return 指标采集实现
+     */
+    public HttpMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 获取DNS缓存，可查看命中率、各地址进行中的请求数，或在地址变更时清除缓存</p>
+     * @return DNS缓存，未通过 Builder.dns 开启时为null
+     */
+    public CachingDnsResolver dnsCache() {
+        return dnsCache;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:49</p>
+     * <p>Desp: 获取应答缓存统计，命中次数即节省的后端请求次数</p>
+     * @return 缓存统计
+     */
+    public HttpCacheStats cacheStats() {
+        return cacheStats;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:42</p>
+     * <p>Desp: 构建长连接保持策略：优先使用服务端 Keep-Alive 头指定的时长，但不超过默认时长；服务端未指定时使用默认时长</p>
+     * @param keepAlive 默认长连接保持时长，单位毫秒
+     * @return 长连接保持策略
+     */
+    private static ConnectionKeepAliveStrategy buildKeepAliveStrategy(final long keepAlive) {
+        return (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+        };
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:42</p>
+     * <p>Desp: 关闭当前实例的HttpClient及连接池，关闭后实例不可再用；派生实例与根实例共享资源，关闭任一即关闭全部</p>
+     */
+    @Override
+    public void close() throws IOException {
+        if (root != this) {
+            root.close();
+            return;
+        }
+        try {
+            client.close();
+        } finally {
+            if (null != watcher) {
+                watcher.shutdownNow();
+            }
+            metrics.close();
+            if (null != dnsCache) {
+                dnsCache.close();
+            }
+            if (null != hedgeExecutor) {
+                hedgeExecutor.shutdownNow();
+            }
+            if (null != asyncClient) {
+                asyncClient.close();
+            }
+            if (null != cacheStorage) {
+                //删除磁盘缓存的文件
+                cacheStorage.close();
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 一次调用：每次尝试都通过请求工厂生成新的请求对象</p>
+     * @param <T> 结果类型
+     */
+    private static class Call<T> {
+        //请求URL，用于异常信息
+        private final String url;
+        //请求主机，用于按主机隔离的熔断和舱壁
+        private final String host;
+        //请求工厂
+        private final Supplier<HttpRequestBase> request;
+        //应答处理器
+        private final ResponseHandler<T> handler;
+        //是否幂等，幂等请求按重试策略重试
+        private final boolean idempotent;
+        //是否可对冲，只有缓存完整应答体的幂等请求可以对冲
+        private final boolean hedgeable;
+        //请求体是否可重复发送
+        private final boolean repeatable;
+
+        private Call(String url, Supplier<HttpRequestBase> request, ResponseHandler<T> handler, boolean idempotent, boolean hedgeable) {
+            this(url, request, handler, idempotent, hedgeable, true);
+        }
+
+        private Call(String url, Supplier<HttpRequestBase> request, ResponseHandler<T> handler, boolean idempotent, boolean hedgeable,
+                     boolean repeatable) {
+            this.url = url;
+            this.host = HostGuards.hostOf(url);
+            this.request = request;
+            this.handler = handler;
+            this.idempotent = idempotent;
+            this.hedgeable = hedgeable;
+            this.repeatable = repeatable;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:46</p>
+     * <p>Desp: 应答体输入流处理器，处理器返回后输入流自动关闭</p>
+     * @param <T> 处理结果类型
+     */
+    public interface StreamHandler<T> {
+        T handle(InputStream in) throws IOException;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:42</p>
+     * <p>Desp: UHttp 实例构造器，配置连接池容量、长连接保持、连接存活时间、空闲连接回收</p>
+     */
+    public static class Builder {
+        //超时时间、代理、连接池容量、压缩配置
+        private HttpSettings settings = new HttpSettings();
+        //指定路由的最大连接数
+        private final Map<HttpRoute, Integer> routeMax = new LinkedHashMap<>();
+        //长连接默认保持时长，单位毫秒
+        private long keepAlive = 30000;
+        //连接最大存活时间，单位毫秒，小于等于0表示不限制
+        private long connTimeToLive = -1;
+        //空闲连接回收时间，单位毫秒
+        private long maxIdleTime = 60000;
+        //连接空闲多久后复用前需要校验，单位毫秒
+        private int validateAfterInactivity = 2000;
+        //异步客户端 I/O reactor 线程数
+        private int ioThreads = Runtime.getRuntime().availableProcessors();
+        //缓存最大条目数，小于等于0表示不开启缓存
+        private int cacheMaxEntries = 0;
+        //缓存最大字节数
+        private long cacheMaxBytes = 0;
+        //单个应答体可缓存的最大字节数
+        private long cacheMaxObjectSize = 1024 * 1024;
+        //缓存应答体的磁盘目录，为null时缓存在内存中
+        private Path cacheDir;
+        //是否开启GET请求合并
+        private boolean singleFlight = false;
+        //请求合并键生成函数，为null时使用URL加请求头
+        private BiFunction<String, Header[], ?> singleFlightKey;
+        //等待合并请求结果的超时时间，单位毫秒
+        private long singleFlightTimeout = 10000;
+        //重试策略，默认不重试
+        private RetryPolicy retryPolicy = RetryPolicy.NONE;
+        //调用的默认时间预算，单位毫秒，小于等于0表示不限制
+        private long deadline = 0;
+        //对冲请求的最小触发延迟，单位毫秒，小于等于0表示不开启
+        private long hedgeMinDelay = 0;
+        //熔断器配置，为null时不开启熔断
+        private CircuitBreakerConfig circuitBreaker;
+        //单个主机最大并发调用数，小于等于0时不限制
+        private int bulkheadMax = 0;
+        //获取舱壁许可的最长等待时间，单位毫秒
+        private long bulkheadWait = 0;
+        //限流配置，为null时不限流
+        private LimiterConfig limiter;
+        //指标采集，为null时使用 JmxHttpMetrics
+        private HttpMetrics metrics;
+        //DNS缓存配置，为null时不缓存
+        private DnsConfig dns;
+        //DNS解析器，为null时使用JVM的解析器
+        private DnsResolver dnsResolver;
+        //实例名称，用于指标和 JMX 注册，为null时自动生成
+        private String name;
+
+        private Builder() {
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置连接池最大连接数</p>
+         * @param maxTotal 最大连接数
+         * @return 当前构造器
+         */
+        public Builder maxTotal(int maxTotal) {
+            settings.maxTotal(maxTotal);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置每个路由（主机）默认最大连接数</p>
+         * @param maxPerRoute 每个路由最大连接数
+         * @return 当前构造器
+         */
+        public Builder maxPerRoute(int maxPerRoute) {
+            settings.maxPerRoute(maxPerRoute);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置指定主机的最大连接数，覆盖默认的每路由最大连接数</p>
+         * @param host 主机，格式如：https://example.com 或 example.com:8080，未指定协议默认http
+         * @param max 最大连接数
+         * @return 当前构造器
+         */
+        public Builder maxPerRoute(String host, int max) {
+            HttpHost target = HttpHost.create(host);
+            if (target.getPort() < 0) {
+                try {
+                    int port = DefaultSchemePortResolver.INSTANCE.resolve(target);
+                    target = new HttpHost(target.getHostName(), port, target.getSchemeName());
+                } catch (UnsupportedSchemeException e) {
+                    throw new IllegalArgumentException("Unsupported scheme! host: " + host, e);
+                }
+            }
+            boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+            routeMax.put(new HttpRoute(target, null, secure), max);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置长连接默认保持时长，服务端通过 Keep-Alive 头指定更短的时长时以服务端为准</p>
+         * @param keepAlive 保持时长，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder keepAlive(long keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置连接最大存活时间，超过后连接不再复用</p>
+         * @param connTimeToLive 存活时间，单位毫秒，小于等于0表示不限制
+         * @return 当前构造器
+         */
+        public Builder connTimeToLive(long connTimeToLive) {
+            this.connTimeToLive = connTimeToLive;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置空闲连接回收时间，后台线程定期关闭过期和空闲超时的连接</p>
+         * @param maxIdleTime 空闲时间，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder maxIdleTime(long maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 设置连接空闲多久后，复用前需要校验连接是否可用</p>
+         * @param validateAfterInactivity 空闲时间，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder validateAfterInactivity(int validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:45</p>
+         * <p>Desp: 设置异步客户端 I/O reactor 线程数，少量线程即可承载大量并发中的请求</p>
+         * @param ioThreads 线程数
+         * @return 当前构造器
+         */
+        public Builder ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:49</p>
+         * <p>Desp: 开启GET应答缓存，按LRU淘汰，条目数和字节数任一超限即淘汰最久未访问的条目</p>
+         * @param maxEntries 最大条目数
+         * @param maxBytes 最大字节数
+         * @return 当前构造器
+         */
+        public Builder cache(int maxEntries, long maxBytes) {
+            this.cacheMaxEntries = maxEntries;
+            this.cacheMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:49</p>
+         * <p>Desp: 设置单个应答体可缓存的最大字节数，超过的应答不缓存</p>
+         * @param cacheMaxObjectSize 最大字节数
+         * @return 当前构造器
+         */
+        public Builder cacheMaxObjectSize(long cacheMaxObjectSize) {
+            this.cacheMaxObjectSize = cacheMaxObjectSize;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:49</p>
+         * <p>Desp: 设置缓存应答体的磁盘目录，应答体存储为文件，缓存索引仍在内存中；关闭实例时删除缓存的文件</p>
+         * @param cacheDir 磁盘目录，需已存在
+         * @return 当前构造器
+         */
+        public Builder cacheDir(Path cacheDir) {
+            this.cacheDir = cacheDir;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:50</p>
+         * <p>Desp: 开启GET请求合并，相同URL加请求头的并发GET只向后端发送一次请求，其余调用共享应答</p>
+         * @param timeout 等待合并请求结果的超时时间，单位毫秒，超时抛出 TIMEOUT 类型的 UHttpException
+         * @return 当前构造器
+         */
+        public Builder singleFlight(long timeout) {
+            this.singleFlight = true;
+            this.singleFlightTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:50</p>
+         * <p>Desp: 设置请求合并键生成函数，返回值相等（equals）的请求会被合并</p>
+         * @param singleFlightKey 键生成函数，参数为追加了请求参数的URL和请求头
+         * @return 当前构造器
+         */
+        public Builder singleFlightKey(BiFunction<String, Header[], ?> singleFlightKey) {
+            this.singleFlightKey = singleFlightKey;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:53</p>
+         * <p>Desp: 开启重试，幂等请求（GET）的可重试失败按指数退避加随机抖动重试</p>
+         * @param maxAttempts 最大尝试次数，包括第一次请求
+         * @param baseDelay 退避基准时长，单位毫秒
+         * @param maxDelay 退避最大时长，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder retry(int maxAttempts, long baseDelay, long maxDelay) {
+            return retry(new RetryPolicy(maxAttempts, baseDelay, maxDelay, false));
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:53</p>
+         * <p>Desp: 设置重试策略</p>
+         * @param retryPolicy 重试策略
+         * @return 当前构造器
+         */
+        public Builder retry(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:53</p>
+         * <p>Desp: 设置调用的默认时间预算，包括所有重试和退避，可通过 with(CallOptions) 按调用覆盖</p>
+         * @param deadline 时间预算，单位毫秒，小于等于0表示不限制
+         * @return 当前构造器
+         */
+        public Builder deadline(long deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:53</p>
+         * <p>Desp: 开启GET对冲请求，请求超过近期P95延迟（不小于最小触发延迟）仍未应答时发送重复请求，取先到的应答</p>
+         * @param hedgeMinDelay 最小触发延迟，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder hedge(long hedgeMinDelay) {
+            this.hedgeMinDelay = hedgeMinDelay;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:55</p>
+         * <p>Desp: 开启按主机的熔断，失败率或慢调用率达到阈值后快速失败，等待一段时间后半开探测</p>
+         * @param circuitBreaker 熔断器配置
+         * @return 当前构造器
+         */
+        public Builder circuitBreaker(CircuitBreakerConfig circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:55</p>
+         * <p>Desp: 开启按主机的舱壁，限制单个主机的最大并发调用数</p>
+         * @param maxConcurrent 单个主机最大并发调用数
+         * @param maxWait 并发已满时同步调用的最长等待时间，单位毫秒；异步调用不等待
+         * @return 当前构造器
+         */
+        public Builder bulkhead(int maxConcurrent, long maxWait) {
+            this.bulkheadMax = maxConcurrent;
+            this.bulkheadWait = maxWait;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:15</p>
+         * <p>Desp: 设置指标采集实现，默认为注册到 JMX 的 JmxHttpMetrics，传入 HttpMetrics.NOOP 关闭采集</p>
+         * @param metrics 指标采集实现
+         * @return 当前构造器
+         */
+        public Builder metrics(HttpMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:17</p>
+         * <p>Desp: 开启DNS缓存和多地址负载均衡：解析结果在内存中缓存并后台刷新，主机解析出多个地址时按策略分散新建的连接</p>
+         * @param dns DNS缓存配置
+         * @return 当前构造器
+         */
+        public Builder dns(DnsConfig dns) {
+            this.dns = dns;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:17</p>
+         * <p>Desp: 设置DNS解析器，默认使用JVM的解析器；开启DNS缓存时缓存该解析器的结果</p>
+         * @param dnsResolver DNS解析器，如指向固定地址的解析器或自定义服务发现
+         * @return 当前构造器
+         */
+        public Builder dnsResolver(DnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:15</p>
+         * <p>Desp: 设置实例名称，用于区分多个实例的指标，JMX 名称为 cn.weicm:type=UHttp,name=实例名称</p>
+         * @param name 实例名称，同一进程内应唯一
+         * @return 当前构造器
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:11</p>
+         * <p>Desp: 开启客户端限流：按主机的令牌桶限速和自适应并发限制，在请求发送前排队或拒绝，避免触发对方的429</p>
+         * @param limiter 限流配置
+         * @return 当前构造器
+         */
+        public Builder limiter(LimiterConfig limiter) {
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 设置连接超时时间，可通过 CallOptions 按调用覆盖</p>
+         * @param connectTimeout 连接超时时间，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder connectTimeout(int connectTimeout) {
+            settings.connectTimeout(connectTimeout);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 设置读取超时时间，可通过 CallOptions 按调用覆盖</p>
+         * @param socketTimeout 读取超时时间，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder socketTimeout(int socketTimeout) {
+            settings.socketTimeout(socketTimeout);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 设置从连接池获取连接的超时时间，连接池耗尽时请求最多等待该时长</p>
+         * @param connectionRequestTimeout 获取连接超时时间，单位毫秒
+         * @return 当前构造器
+         */
+        public Builder connectionRequestTimeout(int connectionRequestTimeout) {
+            settings.connectionRequestTimeout(connectionRequestTimeout);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 设置代理，主机名或端口为空时不使用代理</p>
+         * @param host 代理主机名
+         * @param port 代理主机端口
+         * @param scheme 代理协议，为空时使用http
+         * @return 当前构造器
+         */
+        public Builder proxy(String host, Integer port, String scheme) {
+            settings.proxy(host, port, scheme);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 设置是否发送 Accept-Encoding 并自动解压 gzip、deflate、br 编码的应答，默认开启</p>
+         * @param compression 是否开启
+         * @return 当前构造器
+         */
+        public Builder compression(boolean compression) {
+            settings.compression(compression);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:02</p>
+         * <p>Desp: 开启请求体gzip压缩，只压缩JSON和表单请求体，需服务端支持 Content-Encoding: gzip 的请求</p>
+         * @param minSize 请求体达到该字节数时才压缩，小于0表示不压缩
+         * @return 当前构造器
+         */
+        public Builder requestCompression(int minSize) {
+            settings.requestCompressionThreshold(minSize);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 用属性中存在的键覆盖超时时间、代理、连接池容量、压缩配置，键格式见 HttpSettings</p>
+         * @param props 属性
+         * @param prefix 键前缀，如 uhttp.，可为空字符串
+         * @return 当前构造器
+         * @throws IllegalArgumentException 属性值格式错误
+         */
+        public Builder properties(Properties props, String prefix) {
+            settings = settings.merge(props, prefix);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:00</p>
+         * <p>Desp: 从配置文件加载超时时间、代理、连接池容量、压缩配置，文件按 UConf.getResourceAsStream 规则查找</p>
+         * @param file 配置文件名
+         * @param prefix 键前缀，如 uhttp.，可为空字符串
+         * @return 当前构造器
+         * @throws RuntimeException 配置文件不存在或读取失败
+         */
+        public Builder conf(String file, String prefix) {
+            Properties props = new Properties();
+            try (InputStream in = UConf.getResourceAsStream(UHttp.class, file)) {
+                if (null == in) {
+                    throw new IllegalArgumentException("File doesn't exists in classpath! file: " + file);
+                }
+                props.load(in);
+            } catch (IOException e) {
+                throw new RuntimeException("Load conf exception! file: " + file, e);
+            }
+            return properties(props, prefix);
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:42</p>
+         * <p>Desp: 构建 UHttp 实例，每个实例拥有独立的连接池，使用完毕需调用 close 释放</p>
+         * @return UHttp 实例
+         */
+        public UHttp build() {
+            return new UHttp(this);
         }
-        return request;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package cn.weicm.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:11</p>
+ * <p>Desp: 基于 AIMD 的自适应并发限制器：根据观察到的限流应答和延迟调整单个主机允许的并发调用数；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 加性增加：调用成功且并发已达上限时，每个限制周期内上限约增加1</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 乘性减少：调用被限流（429/503）、超时，或开启了延迟容忍倍数且平滑延迟超过最小延迟的该倍数时，上限乘以退避系数</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 同一批并发调用的多个过载信号只减少一次：距上次减少不足一个平滑延迟时忽略</p>
+ */
+public class AdaptiveLimiter {
+    //平滑延迟的权重
+    private static final double SMOOTHING = 0.1;
+
+    private final LimiterConfig config;
+    //当前并发上限
+    private double limit;
+    //正在进行的调用数
+    private int inFlight = 0;
+    //正在排队等待的调用数
+    private int waiting = 0;
+    //当前窗口和上一个窗口的最小延迟，单位毫秒，按 LimiterConfig.minRttWindow 轮换
+    private double minRtt = Double.MAX_VALUE;
+    private double previousMinRtt = Double.MAX_VALUE;
+    //当前窗口的开始时间，单位毫秒
+    private long windowStart = System.currentTimeMillis();
+    //平滑延迟，单位毫秒
+    private double smoothedRtt = 0;
+    //上次减少并发上限的时间，单位毫秒
+    private long lastDecrease = 0;
+
+    public AdaptiveLimiter(LimiterConfig config) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取调用许可，并发已达上限时排队等待，获取成功后必须调用 onResult 或 release 归还</p>
+     * @param maxWait 最长等待时间，单位毫秒，小于等于0表示不等待
+     * @return 获取成功返回true，排队已满或等待超时返回false
+     * @throws InterruptedException 等待时被中断
+     */
+    public synchronized boolean tryAcquire(long maxWait) throws InterruptedException {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        if (maxWait <= 0 || waiting >= config.getQueueSize()) {
+            return false;
+        }
+        waiting++;
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait);
+            while (inFlight >= (int) limit) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 记录一次调用的结果并归还许可，据此调整并发上限</p>
+     * @param millis 调用时长，单位毫秒
+     * @param overloaded 是否被后端限流或超时
+     */
+    public synchronized void onResult(long millis, boolean overloaded) {
+        boolean saturated = inFlight >= (int) limit;
+        inFlight--;
+        long now = System.currentTimeMillis();
+        rotateMinRtt(now);
+        boolean first = Double.MAX_VALUE == minRtt && Double.MAX_VALUE == previousMinRtt;
+        smoothedRtt = first ? millis : smoothedRtt + SMOOTHING * (millis - smoothedRtt);
+        minRtt = Math.min(minRtt, Math.max(millis, 1));
+        double baseRtt = Math.min(minRtt, previousMinRtt);
+        boolean slow = config.getLatencyTolerance() > 0 && smoothedRtt > baseRtt * config.getLatencyTolerance();
+        if (overloaded || slow) {
+            if (now - lastDecrease > smoothedRtt) {
+                limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+                lastDecrease = now;
+            }
+        } else if (saturated) {
+            limit = Math.min(config.getMaxLimit(), limit + 1 / limit);
+        }
+        notifyAll();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:10</p>
+     * <p>Desp: 当前窗口结束时轮换最小延迟窗口，超过两个窗口没有调用时两个窗口都重新统计</p>
+     * @param now 当前时间，单位毫秒
+     */
+    private void rotateMinRtt(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < config.getMinRttWindow()) {
+            return;
+        }
+        previousMinRtt = elapsed < 2 * config.getMinRttWindow() ? minRtt : Double.MAX_VALUE;
+        minRtt = Double.MAX_VALUE;
+        windowStart = now;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:08</p>
+     * <p>Desp: 归还许可但不记录结果，用于许可获取后调用未发出的情况，不影响延迟统计和并发上限</p>
+     */
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 当前并发上限</p>
+     * @return 并发上限
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+}
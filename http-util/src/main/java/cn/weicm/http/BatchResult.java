@@ -0,0 +1,44 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:03</p>
+ * <p>Desp: 批量请求中单个请求的结果：成功时为应答体，失败时为对应的 UHttpException，结果顺序与请求顺序一致</p>
+ * @param <T> 应答体类型
+ */
+public class BatchResult<T> {
+    //请求在批量请求中的下标
+    private final int index;
+    //应答体，失败时为null
+    private final T value;
+    //请求异常，成功时为null
+    private final UHttpException error;
+
+    public BatchResult(int index, T value, UHttpException error) {
+        this.index = index;
+        this.value = value;
+        this.error = error;
+    }
+
+    public boolean isSuccess() {
+        return null == error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public UHttpException getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "BatchResult{index=" + index + ", value=" + value + "}"
+                : "BatchResult{index=" + index + ", error=" + error + "}";
+    }
+}
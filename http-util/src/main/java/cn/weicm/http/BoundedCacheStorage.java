@@ -0,0 +1,199 @@
+package cn.weicm.http;
+
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.cache.HttpCacheUpdateCallback;
+import org.apache.http.client.cache.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:49</p>
+ * <p>Desp: 按条目数和字节数双重限制的LRU缓存存储；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 字节数按缓存条目的应答体资源大小计算，资源可以在内存中，也可以在磁盘上（FileResourceFactory）</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 被淘汰或被替换的条目可能仍被正在读取缓存的线程持有，等到不再引用该资源的条目都被回收后才释放资源，
+ * 磁盘资源对应的文件随之删除；回收的条目在下次写入或调用 cleanResources 时处理，关闭时释放全部资源</p>
+ */
+public class BoundedCacheStorage implements HttpCacheStorage, Closeable {
+    //最大条目数
+    private final int maxEntries;
+    //最大字节数
+    private final long maxBytes;
+    //按访问顺序排列的条目，最久未访问的在最前
+    private final LinkedHashMap<String, HttpCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    //当前字节数
+    private long bytes = 0;
+    //存放过的条目被回收后，其幻象引用进入该队列
+    private final ReferenceQueue<HttpCacheEntry> morgue = new ReferenceQueue<>();
+    //存放过的条目的幻象引用，持有引用本身使其在条目回收前不被回收
+    private final Set<EntryReference> references = new HashSet<>();
+    //资源到引用它的未回收条目数，降为0时释放资源
+    private final Map<Resource, Integer> owners = new IdentityHashMap<>();
+    private boolean closed = false;
+
+    public BoundedCacheStorage(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized void putEntry(String key, HttpCacheEntry entry) throws IOException {
+        ensureOpen();
+        cleanResources();
+        release(entries.put(key, entry));
+        bytes += sizeOf(entry);
+        keep(entry);
+        evict();
+    }
+
+    @Override
+    public synchronized HttpCacheEntry getEntry(String key) throws IOException {
+        ensureOpen();
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void removeEntry(String key) throws IOException {
+        ensureOpen();
+        cleanResources();
+        release(entries.remove(key));
+    }
+
+    @Override
+    public synchronized void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException {
+        ensureOpen();
+        HttpCacheEntry existing = entries.get(key);
+        HttpCacheEntry updated = callback.update(existing);
+        if (null == updated) {
+            cleanResources();
+            release(entries.remove(key));
+            return;
+        }
+        putEntry(key, updated);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:49</p>
+     * <p>Desp: 当前缓存条目数</p>
+     * @return 条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:49</p>
+     * <p>Desp: 当前缓存字节数</p>
+     * @return 字节数
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:37</p>
+     * <p>Desp: 释放已被回收的条目的资源，资源仍被其他未回收的条目引用时不释放</p>
+     */
+    public synchronized void cleanResources() {
+        EntryReference reference;
+        while (null != (reference = (EntryReference) morgue.poll())) {
+            references.remove(reference);
+            Integer count = owners.get(reference.resource);
+            if (null == count || count <= 1) {
+                owners.remove(reference.resource);
+                reference.resource.dispose();
+            } else {
+                owners.put(reference.resource, count - 1);
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:37</p>
+     * <p>Desp: 清空缓存并释放全部资源，包括仍被读取线程持有的条目的资源；关闭后不能再读写</p>
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        entries.clear();
+        bytes = 0;
+        for (Resource resource : owners.keySet()) {
+            resource.dispose();
+        }
+        owners.clear();
+        references.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Cache storage has been closed!");
+        }
+    }
+
+    /**
+     * 登记存放的条目，条目被回收后才能释放其资源
+     */
+    private void keep(HttpCacheEntry entry) {
+        Resource resource = entry.getResource();
+        if (null == resource) {
+            return;
+        }
+        references.add(new EntryReference(entry, resource, morgue));
+        owners.merge(resource, 1, Integer::sum);
+    }
+
+    /**
+     * 淘汰最久未访问的条目，直到条目数和字节数都不超过限制
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, HttpCacheEntry>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            HttpCacheEntry eldest = it.next().getValue();
+            it.remove();
+            release(eldest);
+        }
+    }
+
+    /**
+     * 扣减被移除条目的字节数，资源在条目被回收后释放
+     */
+    private void release(HttpCacheEntry old) {
+        if (null != old) {
+            bytes -= sizeOf(old);
+        }
+    }
+
+    private static long sizeOf(HttpCacheEntry entry) {
+        Resource resource = entry.getResource();
+        return null == resource ? 0 : resource.length();
+    }
+
+    /**
+     * 缓存条目的幻象引用，持有条目的资源以便条目回收后释放
+     */
+    private static class EntryReference extends PhantomReference<HttpCacheEntry> {
+        private final Resource resource;
+
+        private EntryReference(HttpCacheEntry entry, Resource resource, ReferenceQueue<HttpCacheEntry> queue) {
+            super(entry, queue);
+            this.resource = resource;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package cn.weicm.http;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:55</p>
+ * <p>Desp: 舱壁：限制单个主机的最大并发调用数，避免一个慢依赖占满全部调用线程；线程安全</p>
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 获取调用许可，获取成功后必须调用 release 归还</p>
+     * @param maxWait 最长等待时间，单位毫秒，小于等于0表示不等待
+     * @return 获取成功返回true
+     * @throws InterruptedException 等待时被中断
+     */
+    public boolean tryAcquire(long maxWait) throws InterruptedException {
+        return maxWait <= 0 ? permits.tryAcquire() : permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 当前并发调用数</p>
+     * @return 并发调用数
+     */
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
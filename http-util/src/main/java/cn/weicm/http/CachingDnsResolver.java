@@ -0,0 +1,204 @@
+package cn.weicm.http;
+
+import org.apache.http.conn.DnsResolver;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:17</p>
+ * <p>Desp: 带缓存的DNS解析器：解析结果按 TTL 缓存，临近过期时后台刷新，刷新失败时继续使用旧结果直到过期；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 返回全部地址，按选择策略调整顺序，连接时优先使用第一个地址，失败后依次尝试其余地址</p>
+ */
+public class CachingDnsResolver implements DnsResolver, Closeable {
+    private final DnsResolver delegate;
+    private final DnsConfig config;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    //每个地址进行中的请求数，用于 LEAST_IN_FLIGHT 策略
+    private final Map<InetAddress, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(new DaemonThreadFactory("UHttp-dns-"));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public CachingDnsResolver(DnsResolver delegate, DnsConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(host);
+        if (null == entry || now >= entry.expireAt) {
+            misses.increment();
+            entry = load(host);
+        } else {
+            hits.increment();
+            if (now >= entry.refreshAt && entry.refreshing.compareAndSet(false, true)) {
+                refresh(host, entry);
+            }
+        }
+        if (null == entry.addresses) {
+            throw new UnknownHostException(host);
+        }
+        return select(entry);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 同步解析并写入缓存，解析失败时按 negativeTtl 缓存失败结果</p>
+     */
+    private Entry load(String host) throws UnknownHostException {
+        InetAddress[] addresses;
+        try {
+            addresses = delegate.resolve(host);
+        } catch (UnknownHostException e) {
+            if (config.getNegativeTtl() > 0) {
+                cache.put(host, new Entry(null, System.currentTimeMillis(), config.getNegativeTtl(), 1));
+            }
+            throw e;
+        }
+        Entry entry = new Entry(addresses, System.currentTimeMillis(), config.getTtl(), config.getRefreshAhead());
+        Entry previous = cache.put(host, entry);
+        //保持轮询位置；首次解析时随机起点，避免多个实例同时从第一个地址开始
+        entry.cursor.set(null != previous ? previous.cursor.get() : ThreadLocalRandom.current().nextInt(Math.max(addresses.length, 1)));
+        return entry;
+    }
+
+    private void refresh(String host, Entry entry) {
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(host);
+                    refreshes.increment();
+                } catch (Exception e) {
+                    //刷新失败时继续使用旧结果，过期后由调用线程重新解析
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 按选择策略返回调整顺序后的地址副本</p>
+     */
+    private InetAddress[] select(Entry entry) {
+        InetAddress[] addresses = entry.addresses;
+        if (addresses.length < 2 || DnsConfig.Balance.ORDERED == config.getBalance()) {
+            return addresses.clone();
+        }
+        int start = Math.floorMod(entry.cursor.getAndIncrement(), addresses.length);
+        InetAddress[] selected = new InetAddress[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            selected[i] = addresses[(start + i) % addresses.length];
+        }
+        if (DnsConfig.Balance.LEAST_IN_FLIGHT == config.getBalance()) {
+            //稳定排序，进行中请求数相同的地址保持轮询顺序
+            int[] counts = new int[selected.length];
+            Integer[] order = new Integer[selected.length];
+            for (int i = 0; i < selected.length; i++) {
+                counts[i] = getInFlight(selected[i]);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(counts[a], counts[b]));
+            InetAddress[] sorted = new InetAddress[selected.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = selected[order[i]];
+            }
+            return sorted;
+        }
+        return selected;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 记录发往地址的请求开始，与 end 成对调用</p>
+     * @param address 连接的远端地址
+     */
+    public void begin(InetAddress address) {
+        inFlight.computeIfAbsent(address, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 记录发往地址的请求结束</p>
+     * @param address 连接的远端地址
+     */
+    public void end(InetAddress address) {
+        AtomicInteger count = inFlight.get(address);
+        if (null != count) {
+            count.decrementAndGet();
+        }
+    }
+
+    public int getInFlight(InetAddress address) {
+        AtomicInteger count = inFlight.get(address);
+        return null == count ? 0 : count.get();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 清除缓存，下次解析时重新查询</p>
+     * @param host 主机名，为null时清除全部
+     */
+    public void invalidate(String host) {
+        if (null == host) {
+            cache.clear();
+        } else {
+            cache.remove(host);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private static class Entry {
+        //为null表示解析失败
+        private final InetAddress[] addresses;
+        private final long expireAt;
+        private final long refreshAt;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(InetAddress[] addresses, long now, long ttl, double refreshAhead) {
+            this.addresses = addresses;
+            this.expireAt = now + ttl;
+            this.refreshAt = refreshAhead >= 1 ? Long.MAX_VALUE : now + (long) (ttl * refreshAhead);
+        }
+    }
+}
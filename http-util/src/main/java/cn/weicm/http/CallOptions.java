@@ -0,0 +1,159 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:53</p>
+ * <p>Desp: 单次调用配置，通过 UHttp.with(CallOptions) 覆盖实例的默认配置；未设置的项沿用实例配置</p>
+ */
+public class CallOptions {
+    //调用的时间预算，包括所有重试和退避，单位毫秒
+    private Long deadline;
+    //最大尝试次数
+    private Integer maxAttempts;
+    //是否开启对冲请求
+    private Boolean hedge;
+    //连接超时时间，单位毫秒
+    private Integer connectTimeout;
+    //读取超时时间，单位毫秒
+    private Integer socketTimeout;
+    //从连接池获取连接的超时时间，单位毫秒
+    private Integer connectionRequestTimeout;
+    //是否发送 Accept-Encoding 并自动解压应答
+    private Boolean compression;
+
+    public static CallOptions create() {
+        return new CallOptions();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 设置调用的时间预算，超出时抛出 DEADLINE 类型的 UHttpException</p>
+     * @param deadline 时间预算，单位毫秒，小于等于0表示不限制
+     * @return 当前配置
+     */
+    public CallOptions deadline(long deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 设置最大尝试次数，包括第一次请求</p>
+     * @param maxAttempts 最大尝试次数
+     * @return 当前配置
+     */
+    public CallOptions maxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 设置是否开启对冲请求，实例未配置对冲延迟时不生效</p>
+     * @param hedge 是否开启
+     * @return 当前配置
+     */
+    public CallOptions hedge(boolean hedge) {
+        this.hedge = hedge;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 设置连接超时时间，覆盖实例配置</p>
+     * @param connectTimeout 连接超时时间，单位毫秒
+     * @return 当前配置
+     */
+    public CallOptions connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 设置读取超时时间，覆盖实例配置；设置了时间预算时不超过剩余预算</p>
+     * @param socketTimeout 读取超时时间，单位毫秒
+     * @return 当前配置
+     */
+    public CallOptions socketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 设置从连接池获取连接的超时时间，覆盖实例配置</p>
+     * @param connectionRequestTimeout 获取连接超时时间，单位毫秒
+     * @return 当前配置
+     */
+    public CallOptions connectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 设置是否发送 Accept-Encoding 并自动解压应答，覆盖实例配置</p>
+     * @param compression 是否开启
+     * @return 当前配置
+     */
+    public CallOptions compression(boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 合并配置，other 中已设置的项覆盖当前配置，返回新的配置对象</p>
+     * @param other 覆盖的配置
+     * @return 合并后的配置
+     */
+    public CallOptions merge(CallOptions other) {
+        CallOptions merged = new CallOptions();
+        merged.deadline = null != other.deadline ? other.deadline : deadline;
+        merged.maxAttempts = null != other.maxAttempts ? other.maxAttempts : maxAttempts;
+        merged.hedge = null != other.hedge ? other.hedge : hedge;
+        merged.connectTimeout = null != other.connectTimeout ? other.connectTimeout : connectTimeout;
+        merged.socketTimeout = null != other.socketTimeout ? other.socketTimeout : socketTimeout;
+        merged.connectionRequestTimeout = null != other.connectionRequestTimeout
+                ? other.connectionRequestTimeout : connectionRequestTimeout;
+        merged.compression = null != other.compression ? other.compression : compression;
+        return merged;
+    }
+
+    public Long getDeadline() {
+        return deadline;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Boolean getHedge() {
+        return hedge;
+    }
+
+    public Integer getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Integer getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public Integer getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public Boolean getCompression() {
+        return compression;
+    }
+}
@@ -0,0 +1,128 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:55</p>
+ * <p>Desp: 基于调用次数滑动窗口的熔断器；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 关闭：正常放行，窗口内失败率或慢调用率达到阈值时熔断</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 打开：直接拒绝，等待配置的时长后进入半开</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 半开：放行有限次数的探测调用，探测全部成功则关闭，任一失败或慢调用则重新打开</p>
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final CircuitBreakerConfig config;
+    //窗口内每次调用是否失败、是否慢调用
+    private final boolean[] failures;
+    private final boolean[] slows;
+    private State state = State.CLOSED;
+    //窗口内的调用次数、失败次数、慢调用次数
+    private int calls = 0;
+    private int failureCount = 0;
+    private int slowCount = 0;
+    //下一次调用在窗口中的位置
+    private int index = 0;
+    //打开状态的截止时间戳
+    private long openUntil = 0;
+    //半开状态已放行、已完成的探测次数
+    private int halfOpenIssued = 0;
+    private int halfOpenSucceeded = 0;
+
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this.config = config;
+        this.failures = new boolean[config.getWindowSize()];
+        this.slows = new boolean[config.getWindowSize()];
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 尝试放行一次调用，放行后必须调用 onResult 记录结果，或在调用未发出时调用 release 归还</p>
+     * @return 放行返回true，熔断中返回false
+     */
+    public synchronized boolean tryAcquire() {
+        if (State.OPEN == state) {
+            if (System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenIssued = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (State.HALF_OPEN == state) {
+            if (halfOpenIssued >= config.getHalfOpenCalls()) {
+                return false;
+            }
+            halfOpenIssued++;
+        }
+        return true;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:39</p>
+     * <p>Desp: 归还一次已放行但未发出的调用，不记录结果；半开状态下归还探测名额</p>
+     */
+    public synchronized void release() {
+        if (State.HALF_OPEN == state && halfOpenIssued > 0) {
+            halfOpenIssued--;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 记录一次已放行调用的结果</p>
+     * @param millis 调用时长，单位毫秒
+     * @param failure 是否失败
+     */
+    public synchronized void onResult(long millis, boolean failure) {
+        boolean slow = millis >= config.getSlowCallDuration();
+        if (State.HALF_OPEN == state) {
+            if (failure || slow) {
+                open();
+            } else if (++halfOpenSucceeded >= config.getHalfOpenCalls()) {
+                reset();
+            }
+            return;
+        }
+        if (State.OPEN == state) {
+            return;
+        }
+        if (calls == failures.length) {
+            failureCount -= failures[index] ? 1 : 0;
+            slowCount -= slows[index] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failures[index] = failure;
+        slows[index] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        index = (index + 1) % failures.length;
+        if (calls >= config.getMinimumCalls()
+                && (failureCount * 100 >= config.getFailureRateThreshold() * calls
+                || slowCount * 100 >= config.getSlowCallRateThreshold() * calls)) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + config.getOpenDuration();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        calls = 0;
+        failureCount = 0;
+        slowCount = 0;
+        index = 0;
+    }
+}
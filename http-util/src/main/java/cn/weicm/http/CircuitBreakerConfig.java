@@ -0,0 +1,90 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:55</p>
+ * <p>Desp: 熔断器配置，每个主机按此配置创建独立的熔断器</p>
+ */
+public class CircuitBreakerConfig {
+    //统计窗口大小，按最近的调用次数统计
+    private int windowSize = 100;
+    //开始计算失败率所需的最少调用次数
+    private int minimumCalls = 20;
+    //失败率阈值，百分比，达到后熔断
+    private int failureRateThreshold = 50;
+    //慢调用率阈值，百分比，达到后熔断
+    private int slowCallRateThreshold = 100;
+    //慢调用时长，单位毫秒
+    private long slowCallDuration = 5000;
+    //熔断后等待多久进入半开状态，单位毫秒
+    private long openDuration = 10000;
+    //半开状态允许的探测调用次数
+    private int halfOpenCalls = 5;
+
+    public static CircuitBreakerConfig create() {
+        return new CircuitBreakerConfig();
+    }
+
+    public CircuitBreakerConfig windowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public CircuitBreakerConfig minimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public CircuitBreakerConfig failureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public CircuitBreakerConfig slowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    public CircuitBreakerConfig slowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    public CircuitBreakerConfig openDuration(long openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    public CircuitBreakerConfig halfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+}
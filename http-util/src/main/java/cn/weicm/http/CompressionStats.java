@@ -0,0 +1,135 @@
+package cn.weicm.http;
+
+import org.apache.http.client.entity.DeflateInputStreamFactory;
+import org.apache.http.client.entity.GZIPInputStreamFactory;
+import org.apache.http.client.entity.InputStreamFactory;
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:02</p>
+ * <p>Desp: 压缩统计：请求体压缩前后字节数、压缩应答在网络上传输的字节数和解压后的字节数；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 只统计实际发生了压缩/解压的请求和应答，未压缩的应答不计入</p>
+ */
+public class CompressionStats {
+    //压缩前的请求体字节数
+    private final LongAdder requestRawBytes = new LongAdder();
+    //压缩后的请求体字节数
+    private final LongAdder requestCompressedBytes = new LongAdder();
+    //压缩应答在网络上传输的字节数
+    private final LongAdder responseCompressedBytes = new LongAdder();
+    //压缩应答解压后的字节数
+    private final LongAdder responseRawBytes = new LongAdder();
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 记录一次请求体压缩</p>
+     * @param raw 压缩前字节数
+     * @param compressed 压缩后字节数
+     */
+    public void recordRequest(long raw, long compressed) {
+        requestRawBytes.add(raw);
+        requestCompressedBytes.add(compressed);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 构建应答解压器，支持 gzip、deflate、br，边读边解压并统计解压前后的字节数</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 解压器的键即请求头 Accept-Encoding 中声明的编码</p>
+     * @return 编码到解压器的映射
+     */
+    public Map<String, InputStreamFactory> decoders() {
+        Map<String, InputStreamFactory> decoders = new LinkedHashMap<>();
+        decoders.put("gzip", counting(GZIPInputStreamFactory.getInstance()));
+        decoders.put("x-gzip", counting(GZIPInputStreamFactory.getInstance()));
+        decoders.put("deflate", counting(DeflateInputStreamFactory.getInstance()));
+        decoders.put("br", counting(BrotliInputStream::new));
+        return decoders;
+    }
+
+    private InputStreamFactory counting(InputStreamFactory factory) {
+        return in -> new CountingInputStream(factory.create(new CountingInputStream(in, responseCompressedBytes)),
+                responseRawBytes);
+    }
+
+    public long getRequestRawBytes() {
+        return requestRawBytes.sum();
+    }
+
+    public long getRequestCompressedBytes() {
+        return requestCompressedBytes.sum();
+    }
+
+    public long getResponseCompressedBytes() {
+        return responseCompressedBytes.sum();
+    }
+
+    public long getResponseRawBytes() {
+        return responseRawBytes.sum();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 压缩节省的总字节数，包括请求和应答</p>
+     * @return 节省的字节数
+     */
+    public long getBytesSaved() {
+        return getRequestRawBytes() - getRequestCompressedBytes() + getResponseRawBytes() - getResponseCompressedBytes();
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats{requestRawBytes=" + getRequestRawBytes() + ", requestCompressedBytes=" + getRequestCompressedBytes()
+                + ", responseCompressedBytes=" + getResponseCompressedBytes() + ", responseRawBytes=" + getResponseRawBytes()
+                + ", bytesSaved=" + getBytesSaved() + "}";
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:02</p>
+     * <p>Desp: 统计读取字节数的输入流</p>
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongAdder counter;
+
+        private CountingInputStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.add(skipped);
+            return skipped;
+        }
+    }
+}
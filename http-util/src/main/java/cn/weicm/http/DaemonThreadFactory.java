@@ -0,0 +1,25 @@
+package cn.weicm.http;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:53</p>
+ * <p>Desp: 创建带名称前缀的守护线程，避免工具内部线程阻止JVM退出</p>
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger number = new AtomicInteger();
+
+    public DaemonThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, prefix + number.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,80 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:17</p>
+ * <p>Desp: DNS 缓存和多地址负载均衡配置：解析结果按 TTL 缓存在内存中，临近过期时后台刷新，每次建立新连接时按策略调整地址顺序</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 连接池复用已有连接，地址选择只影响新建的连接；连接会一直使用建立时的地址，需要跟随地址变化时配合 connTimeToLive 使用</p>
+ */
+public class DnsConfig {
+    /**
+     * 多地址选择策略
+     */
+    public enum Balance {
+        //保持解析器返回的顺序
+        ORDERED,
+        //轮询
+        ROUND_ROBIN,
+        //优先选择进行中请求最少的地址，相同时轮询
+        LEAST_IN_FLIGHT
+    }
+
+    //解析结果缓存时间，单位毫秒
+    private long ttl = 60000;
+    //解析失败结果的缓存时间，单位毫秒，小于等于0表示不缓存
+    private long negativeTtl = 0;
+    //缓存经过 TTL 的该比例后被访问时在后台刷新，大于等于1表示不提前刷新
+    private double refreshAhead = 0.8;
+    private Balance balance = Balance.ROUND_ROBIN;
+
+    public static DnsConfig create() {
+        return new DnsConfig();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 设置解析结果和解析失败结果的缓存时间</p>
+     * @param ttl 解析结果缓存时间，单位毫秒
+     * @param negativeTtl 解析失败结果缓存时间，单位毫秒，小于等于0表示不缓存
+     * @return 当前配置
+     */
+    public DnsConfig ttl(long ttl, long negativeTtl) {
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:17</p>
+     * <p>Desp: 设置后台刷新时机：缓存经过 TTL 的指定比例后被访问时，继续返回旧结果并在后台重新解析，使建立连接不等待解析</p>
+     * @param refreshAhead 比例，如0.8，大于等于1表示不提前刷新
+     * @return 当前配置
+     */
+    public DnsConfig refreshAhead(double refreshAhead) {
+        this.refreshAhead = refreshAhead;
+        return this;
+    }
+
+    public DnsConfig balance(Balance balance) {
+        this.balance = balance;
+        return this;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public long getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public double getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public Balance getBalance() {
+        return balance;
+    }
+}
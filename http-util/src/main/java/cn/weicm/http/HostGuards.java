@@ -0,0 +1,202 @@
+package cn.weicm.http;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:55</p>
+ * <p>Desp: 按主机隔离的调用保护：每个主机独立的限速器、自适应并发限制器、熔断器和舱壁；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 调用前通过 acquire 获取许可，熔断器最先检查，调用结束后通过许可的 release 记录结果并归还</p>
+ */
+public class HostGuards {
+    //不做任何保护的许可
+    private static final Permit NOOP = new Permit(null, null, null);
+
+    //熔断器配置，为null时不熔断
+    private final CircuitBreakerConfig breakerConfig;
+    //单个主机最大并发调用数，小于等于0时不限制
+    private final int bulkheadMax;
+    //获取舱壁许可的最长等待时间，单位毫秒
+    private final long bulkheadWait;
+    //限流配置，为null时不限流
+    private final LimiterConfig limiterConfig;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AdaptiveLimiter> adaptiveLimiters = new ConcurrentHashMap<>();
+
+    public HostGuards(CircuitBreakerConfig breakerConfig, int bulkheadMax, long bulkheadWait, LimiterConfig limiterConfig) {
+        this.breakerConfig = breakerConfig;
+        this.bulkheadMax = bulkheadMax;
+        this.bulkheadWait = bulkheadWait;
+        this.limiterConfig = limiterConfig;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 获取调用许可：先检查熔断器，熔断中时不消耗令牌、不等待，立即失败；再依次获取限速令牌、自适应并发许可、舱壁许可</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 后续步骤失败时归还已获取的许可，包括半开状态的探测名额；已消耗的限速令牌不归还</p>
+     * @param host 主机，见 hostOf
+     * @param url 请求URL，用于异常信息
+     * @param wait 令牌不足、并发已满时是否等待，异步调用不能阻塞 I/O 线程，应传false
+     * @return 调用许可
+     * @throws UHttpException 熔断中（CIRCUIT_OPEN）、超出限速（RATE_LIMITED）、超出并发限制（CONCURRENCY_LIMITED）、
+     * 舱壁已满（BULKHEAD_FULL）或等待时被中断
+     */
+    public Permit acquire(String host, String url, boolean wait) {
+        if (null == breakerConfig && bulkheadMax <= 0 && null == limiterConfig) {
+            return NOOP;
+        }
+        CircuitBreaker breaker = null;
+        AdaptiveLimiter limiter = null;
+        Bulkhead bulkhead = null;
+        try {
+            CircuitBreaker hostBreaker = breaker(host);
+            if (null != hostBreaker && !hostBreaker.tryAcquire()) {
+                throw new UHttpException(UHttpException.Kind.CIRCUIT_OPEN, url, "Circuit breaker of " + host + " is open!", null);
+            }
+            breaker = hostBreaker;
+            RateLimiter rateLimiter = rateLimiter(host);
+            if (null != rateLimiter && !rateLimiter.tryAcquire(wait ? limiterConfig.getMaxWait() : 0)) {
+                throw new UHttpException(UHttpException.Kind.RATE_LIMITED, url, "Rate limit of " + host + " exceeded!", null);
+            }
+            AdaptiveLimiter adaptiveLimiter = adaptiveLimiter(host);
+            if (null != adaptiveLimiter && !adaptiveLimiter.tryAcquire(wait ? limiterConfig.getMaxWait() : 0)) {
+                throw new UHttpException(UHttpException.Kind.CONCURRENCY_LIMITED, url, "Concurrency limit of " + host + " exceeded!", null);
+            }
+            limiter = adaptiveLimiter;
+            Bulkhead hostBulkhead = bulkhead(host);
+            if (null != hostBulkhead && !hostBulkhead.tryAcquire(wait ? bulkheadWait : 0)) {
+                throw new UHttpException(UHttpException.Kind.BULKHEAD_FULL, url, "Too many concurrent calls to " + host + "!", null);
+            }
+            bulkhead = hostBulkhead;
+            Permit permit = new Permit(breaker, bulkhead, limiter);
+            breaker = null;
+            limiter = null;
+            bulkhead = null;
+            return permit;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UHttpException(UHttpException.Kind.INTERRUPTED, url, "Wait call permit interrupted!", e);
+        } finally {
+            //未能获取全部许可时归还已获取的许可
+            if (null != bulkhead) {
+                bulkhead.release();
+            }
+            if (null != limiter) {
+                limiter.release();
+            }
+            if (null != breaker) {
+                breaker.release();
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 获取主机的熔断器</p>
+     * @param host 主机
+     * @return 熔断器，未开启熔断时返回null
+     */
+    public CircuitBreaker breaker(String host) {
+        return null == breakerConfig ? null : breakers.computeIfAbsent(host, h -> new CircuitBreaker(breakerConfig));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 获取主机的舱壁</p>
+     * @param host 主机
+     * @return 舱壁，未开启舱壁时返回null
+     */
+    public Bulkhead bulkhead(String host) {
+        return bulkheadMax <= 0 ? null : bulkheads.computeIfAbsent(host, h -> new Bulkhead(bulkheadMax));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取主机的限速器</p>
+     * @param host 主机
+     * @return 限速器，未开启限速时返回null
+     */
+    public RateLimiter rateLimiter(String host) {
+        if (null == limiterConfig || limiterConfig.getPermitsPerSecond(host) <= 0) {
+            return null;
+        }
+        return rateLimiters.computeIfAbsent(host, h -> new RateLimiter(limiterConfig.getPermitsPerSecond(h),
+                limiterConfig.getBurst(), limiterConfig.getQueueSize()));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取主机的自适应并发限制器</p>
+     * @param host 主机
+     * @return 自适应并发限制器，未开启时返回null
+     */
+    public AdaptiveLimiter adaptiveLimiter(String host) {
+        if (null == limiterConfig || !limiterConfig.isAdaptive()) {
+            return null;
+        }
+        return adaptiveLimiters.computeIfAbsent(host, h -> new AdaptiveLimiter(limiterConfig));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 从URL中截取主机部分，格式为 协议://主机:端口，不做完整的URL解析</p>
+     * @param url 请求URL
+     * @return 主机
+     */
+    public static String hostOf(String url) {
+        int begin = url.indexOf("://");
+        begin = begin < 0 ? 0 : begin + 3;
+        int end = begin;
+        while (end < url.length()) {
+            char c = url.charAt(end);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            end++;
+        }
+        return url.substring(0, end);
+    }
+
+    /**
+     * 调用许可
+     */
+    public static class Permit {
+        private final CircuitBreaker breaker;
+        private final Bulkhead bulkhead;
+        private final AdaptiveLimiter limiter;
+
+        private Permit(CircuitBreaker breaker, Bulkhead bulkhead, AdaptiveLimiter limiter) {
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+            this.limiter = limiter;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 20:55</p>
+         * <p>Desp: 记录调用结果并归还许可，每个许可只能调用一次</p>
+         * @param millis 调用时长，单位毫秒
+         * @param failure 是否为服务端失败
+         * @param overloaded 是否被后端限流或超时，用于调整自适应并发限制
+         */
+        public void release(long millis, boolean failure, boolean overloaded) {
+            if (null != breaker) {
+                breaker.onResult(millis, failure);
+            }
+            if (null != bulkhead) {
+                bulkhead.release();
+            }
+            if (null != limiter) {
+                limiter.onResult(millis, overloaded);
+            }
+        }
+    }
+}
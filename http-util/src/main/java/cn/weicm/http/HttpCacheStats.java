@@ -0,0 +1,71 @@
+package cn.weicm.http;
+
+import org.apache.http.client.cache.CacheResponseStatus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:49</p>
+ * <p>Desp: 应答缓存统计：命中、未命中、条件验证、缓存模块直接应答的次数；线程安全</p>
+ */
+public class HttpCacheStats {
+    //缓存命中，未访问后端
+    private final LongAdder hits = new LongAdder();
+    //缓存未命中，访问后端
+    private final LongAdder misses = new LongAdder();
+    //缓存过期，通过条件请求（ETag/Last-Modified）向后端验证
+    private final LongAdder validated = new LongAdder();
+    //缓存模块直接生成的应答，如 only-if-cached 未命中时的 504
+    private final LongAdder moduleResponses = new LongAdder();
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:49</p>
+     * <p>Desp: 按缓存应答状态计数</p>
+     * @param status 缓存应答状态，null时忽略
+     */
+    public void record(CacheResponseStatus status) {
+        if (null == status) {
+            return;
+        }
+        switch (status) {
+            case CACHE_HIT:
+                hits.increment();
+                break;
+            case CACHE_MISS:
+                misses.increment();
+                break;
+            case VALIDATED:
+                validated.increment();
+                break;
+            case CACHE_MODULE_RESPONSE:
+                moduleResponses.increment();
+                break;
+            default:
+                break;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getValidated() {
+        return validated.sum();
+    }
+
+    public long getModuleResponses() {
+        return moduleResponses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCacheStats{hits=" + getHits() + ", misses=" + getMisses()
+                + ", validated=" + getValidated() + ", moduleResponses=" + getModuleResponses() + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package cn.weicm.http;
+
+import org.apache.http.pool.PoolStats;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: UHttp 指标采集扩展点，通过 UHttp.Builder.metrics 注入；实现必须线程安全且不能阻塞，默认实现为 JmxHttpMetrics</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 主机格式为 协议://主机:端口（阶段耗时中DNS解析的主机为主机名），时长单位均为纳秒</p>
+ */
+public interface HttpMetrics {
+    /**
+     * 不采集任何指标
+     */
+    HttpMetrics NOOP = new HttpMetrics() {
+    };
+
+    /**
+     * 请求阶段
+     */
+    enum Phase {
+        //DNS解析
+        DNS,
+        //建立连接，https包括TLS握手
+        CONNECT,
+        //请求发送完毕到收到应答头，即首字节时间
+        TTFB
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 实例创建时调用一次，绑定实例名称和连接池统计</p>
+     * @param name 实例名称
+     * @param pool 连接池统计：已租用、可用、等待中、最大连接数
+     */
+    default void bind(String name, Supplier<PoolStats> pool) {
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 记录一次请求（每次重试、对冲各记录一次）</p>
+     * @param host 主机
+     * @param method 请求方法
+     * @param nanos 请求时长
+     * @param error 失败类型，成功时为null
+     */
+    default void recordCall(String host, String method, long nanos, UHttpException.Kind error) {
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 记录一次请求传输的字节数，应答为网络上传输的字节数（解压前）</p>
+     * @param host 主机
+     * @param sent 发送的请求体字节数
+     * @param received 接收的应答体字节数
+     */
+    default void recordBytes(String host, long sent, long received) {
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 记录请求阶段耗时</p>
+     * @param host 主机
+     * @param phase 请求阶段
+     * @param nanos 阶段耗时
+     */
+    default void recordPhase(String host, Phase phase, long nanos) {
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 实例关闭时调用，释放注册的资源</p>
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,178 @@
+package cn.weicm.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+
+import java.util.Properties;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:00</p>
+ * <p>Desp: UHttp 可热更新的配置：超时时间、代理、连接池容量、应答压缩</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 交给 UHttp 后视为不可变，热更新时生成新的配置对象整体替换</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 配置文件中的键（均带统一前缀，如 uhttp.）：</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp; connectTimeout, socketTimeout, connectionRequestTimeout, proxy.host, proxy.port, proxy.scheme,
+ * pool.maxTotal, pool.maxPerRoute, compression, compression.requestThreshold</p>
+ */
+public class HttpSettings implements Cloneable {
+    //连接超时时间，单位毫秒
+    private int connectTimeout = 10000;
+    //读取超时时间，单位毫秒
+    private int socketTimeout = 10000;
+    //从连接池获取连接的超时时间，单位毫秒
+    private int connectionRequestTimeout = 10000;
+    //代理主机名
+    private String proxyHost;
+    //代理主机端口
+    private Integer proxyPort;
+    //代理协议
+    private String proxyScheme;
+    //连接池最大连接数
+    private int maxTotal = 200;
+    //每个路由（主机）默认最大连接数
+    private int maxPerRoute = 50;
+    //是否发送 Accept-Encoding 并自动解压应答
+    private boolean compression = true;
+    //请求体达到该字节数时以gzip压缩发送，小于0表示不压缩请求体
+    private int requestCompressionThreshold = -1;
+
+    public HttpSettings connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public HttpSettings socketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+        return this;
+    }
+
+    public HttpSettings connectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+
+    public HttpSettings proxy(String proxyHost, Integer proxyPort, String proxyScheme) {
+        this.proxyHost = proxyHost;
+        this.proxyPort = proxyPort;
+        this.proxyScheme = proxyScheme;
+        return this;
+    }
+
+    public HttpSettings maxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public HttpSettings maxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    public HttpSettings compression(boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public HttpSettings requestCompressionThreshold(int requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 以当前配置为基础，用属性中存在的键覆盖，返回新的配置对象</p>
+     * @param props 属性
+     * @param prefix 键前缀，如 uhttp.，可为空字符串
+     * @return 新的配置对象
+     * @throws IllegalArgumentException 属性值格式错误
+     */
+    public HttpSettings merge(Properties props, String prefix) {
+        HttpSettings merged = copy();
+        merged.connectTimeout = intValue(props, prefix + "connectTimeout", connectTimeout);
+        merged.socketTimeout = intValue(props, prefix + "socketTimeout", socketTimeout);
+        merged.connectionRequestTimeout = intValue(props, prefix + "connectionRequestTimeout", connectionRequestTimeout);
+        merged.proxyHost = props.getProperty(prefix + "proxy.host", proxyHost);
+        String port = props.getProperty(prefix + "proxy.port");
+        merged.proxyPort = StringUtils.isBlank(port) ? proxyPort : Integer.valueOf(port.trim());
+        merged.proxyScheme = props.getProperty(prefix + "proxy.scheme", proxyScheme);
+        merged.maxTotal = intValue(props, prefix + "pool.maxTotal", maxTotal);
+        merged.maxPerRoute = intValue(props, prefix + "pool.maxPerRoute", maxPerRoute);
+        String compression = props.getProperty(prefix + "compression");
+        merged.compression = StringUtils.isBlank(compression) ? this.compression : Boolean.parseBoolean(compression.trim());
+        merged.requestCompressionThreshold = intValue(props, prefix + "compression.requestThreshold", requestCompressionThreshold);
+        return merged;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:00</p>
+     * <p>Desp: 根据当前配置和调用配置构建请求配置，调用配置中已设置的项优先</p>
+     * @param options 调用配置
+     * @param timeout 本次请求的读取超时时间上限，单位毫秒，小于等于0表示不限制
+     * @return 请求配置
+     */
+    public RequestConfig requestConfig(CallOptions options, int timeout) {
+        int connect = null != options.getConnectTimeout() ? options.getConnectTimeout() : connectTimeout;
+        int socket = null != options.getSocketTimeout() ? options.getSocketTimeout() : socketTimeout;
+        int connectionRequest = null != options.getConnectionRequestTimeout()
+                ? options.getConnectionRequestTimeout() : connectionRequestTimeout;
+        if (timeout > 0) {
+            connect = Math.min(connect, timeout);
+            socket = Math.min(socket, timeout);
+            connectionRequest = Math.min(connectionRequest, timeout);
+        }
+        RequestConfig.Builder builder = RequestConfig.custom()
+                .setConnectTimeout(connect)
+                .setSocketTimeout(socket)
+                .setConnectionRequestTimeout(connectionRequest)
+                .setContentCompressionEnabled(null != options.getCompression() ? options.getCompression() : compression);
+        if (StringUtils.isNotEmpty(proxyHost) && proxyPort != null) {
+            String scheme = StringUtils.isEmpty(proxyScheme) ? HttpHost.DEFAULT_SCHEME_NAME : proxyScheme;
+            builder.setProxy(new HttpHost(proxyHost, proxyPort, scheme));
+        }
+        return builder.build();
+    }
+
+    public HttpSettings copy() {
+        try {
+            return (HttpSettings) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    private static int intValue(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return StringUtils.isBlank(value) ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
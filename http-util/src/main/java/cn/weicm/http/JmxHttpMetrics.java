@@ -0,0 +1,212 @@
+package cn.weicm.http;
+
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 默认的指标采集实现：在内存中按主机和请求方法统计延迟直方图、失败类型、传输字节数、阶段耗时，并注册为 JMX MBean</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; MBean 名称为 cn.weicm:type=UHttp,name=实例名称，实例关闭时注销；统计从实例创建开始累计，不做时间窗口衰减</p>
+ */
+public class JmxHttpMetrics implements HttpMetrics, JmxHttpMetricsMBean {
+    private static final Logger log = LoggerFactory.getLogger(JmxHttpMetrics.class);
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    //键为 主机 + 空格 + 请求方法
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    //键为 主机 + 空格 + 阶段
+    private final ConcurrentHashMap<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+    private volatile String name;
+    private volatile Supplier<PoolStats> pool;
+    private volatile ObjectName objectName;
+
+    @Override
+    public void bind(String name, Supplier<PoolStats> pool) {
+        this.name = name;
+        this.pool = pool;
+        try {
+            ObjectName objectName = new ObjectName("cn.weicm:type=UHttp,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (Exception e) {
+            log.warn("Register UHttp MBean failed! name: " + name + ", " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordCall(String host, String method, long nanos, UHttpException.Kind error) {
+        latency.record(nanos);
+        Endpoint endpoint = endpoints.computeIfAbsent(host + " " + method, k -> new Endpoint());
+        endpoint.latency.record(nanos);
+        if (null != error) {
+            errors.increment();
+            endpoint.errors.get(error).increment();
+        }
+    }
+
+    @Override
+    public void recordBytes(String host, long sent, long received) {
+        bytesSent.add(sent);
+        bytesReceived.add(received);
+    }
+
+    @Override
+    public void recordPhase(String host, Phase phase, long nanos) {
+        phases.computeIfAbsent(host + " " + phase, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    @Override
+    public void close() {
+        if (null == objectName) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Unregister UHttp MBean failed! name: " + name + ", " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 获取主机和请求方法的延迟直方图</p>
+     * @param host 主机，格式为 协议://主机:端口
+     * @param method 请求方法
+     * @return 延迟直方图，没有调用时返回null
+     */
+    public LatencyHistogram latency(String host, String method) {
+        Endpoint endpoint = endpoints.get(host + " " + method);
+        return null == endpoint ? null : endpoint.latency;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 获取主机的阶段耗时直方图</p>
+     * @param host 主机，DNS阶段为主机名，其它阶段为 协议://主机:端口
+     * @param phase 阶段
+     * @return 耗时直方图，没有记录时返回null
+     */
+    public LatencyHistogram phase(String host, Phase phase) {
+        return phases.get(host + " " + phase);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getLatencyP50() {
+        return latency.percentile(0.5);
+    }
+
+    @Override
+    public long getLatencyP99() {
+        return latency.percentile(0.99);
+    }
+
+    @Override
+    public long getLatencyP999() {
+        return latency.percentile(0.999);
+    }
+
+    @Override
+    public int getPoolLeased() {
+        return null == pool ? 0 : pool.get().getLeased();
+    }
+
+    @Override
+    public int getPoolAvailable() {
+        return null == pool ? 0 : pool.get().getAvailable();
+    }
+
+    @Override
+    public int getPoolPending() {
+        return null == pool ? 0 : pool.get().getPending();
+    }
+
+    @Override
+    public int getPoolMax() {
+        return null == pool ? 0 : pool.get().getMax();
+    }
+
+    @Override
+    public String[] getEndpoints() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getKey() + " " + entry.getValue())
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getPhases() {
+        return phases.entrySet().stream()
+                .map(entry -> entry.getKey() + " " + entry.getValue())
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * 单个主机和请求方法的统计
+     */
+    private static class Endpoint {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<UHttpException.Kind, LongAdder> errors = new EnumMap<>(UHttpException.Kind.class);
+
+        private Endpoint() {
+            for (UHttpException.Kind kind : UHttpException.Kind.values()) {
+                errors.put(kind, new LongAdder());
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(latency.toString());
+            for (Map.Entry<UHttpException.Kind, LongAdder> entry : errors.entrySet()) {
+                long count = entry.getValue().sum();
+                if (count > 0) {
+                    sb.append(", ").append(entry.getKey()).append('=').append(count);
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: JmxHttpMetrics 的 JMX 管理接口，延迟单位均为微秒</p>
+ */
+public interface JmxHttpMetricsMBean {
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    long getLatencyP50();
+
+    long getLatencyP99();
+
+    long getLatencyP999();
+
+    int getPoolLeased();
+
+    int getPoolAvailable();
+
+    int getPoolPending();
+
+    int getPoolMax();
+
+    /**
+     * 按主机和请求方法的调用统计，每行一个：主机 方法 次数、延迟分位数、失败类型计数
+     */
+    String[] getEndpoints();
+
+    /**
+     * 按主机的阶段耗时统计，每行一个：主机 阶段 次数、耗时分位数
+     */
+    String[] getPhases();
+}
@@ -0,0 +1,56 @@
+package cn.weicm.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:05</p>
+ * <p>Desp: JSON请求体，发送时由 ObjectMapper 直接将对象序列化到连接的输出流，不生成中间字符串</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 长度未知，以 chunked 方式发送；每次发送重新序列化，可重复发送</p>
+ */
+public class JsonEntity extends AbstractHttpEntity {
+    //序列化器，写完后不关闭目标流，连接输出流由 HttpClient 管理
+    private final ObjectWriter writer;
+    private final Object value;
+
+    public JsonEntity(ObjectMapper mapper, Object value) {
+        this.writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.value = value;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(writer.writeValueAsBytes(value));
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        writer.writeValue(out, value);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+package cn.weicm.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 对数-线性分桶的延迟直方图，思路同 HdrHistogram：每个2的幂区间再均分为64个子桶，相对误差小于1.6%；线程安全、记录无锁</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 以微秒为单位记录，最大约 2^40 微秒，超出的值记入最后一个桶；占用内存固定，约18KB</p>
+ */
+public class LatencyHistogram {
+    //每个2的幂区间的子桶数为 2^SUB_BITS
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    //可记录的最大值的最高位
+    private static final int MAX_MSB = 40;
+    private static final int BUCKETS = (MAX_MSB - SUB_BITS) * SUB_COUNT + 2 * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 记录一个时长</p>
+     * @param nanos 时长，单位纳秒
+     */
+    public void record(long nanos) {
+        long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+        counts.incrementAndGet(indexOf(micros));
+        total.increment();
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 计算分位数，如 0.5、0.99、0.999</p>
+     * @param quantile 分位
+     * @return 分位数，单位微秒，为所在桶的上界；无样本时返回0
+     */
+    public long percentile(double quantile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(quantile * count), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 平均值，单位微秒</p>
+     * @return 平均值，无样本时返回0
+     */
+    public long getMean() {
+        long count = total.sum();
+        return count == 0 ? 0 : sum.sum() / count;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:15</p>
+     * <p>Desp: 最大值，单位微秒</p>
+     * @return 最大值
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    private static int indexOf(long value) {
+        if (value < 2 * SUB_COUNT) {
+            return (int) value;
+        }
+        int msb = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MSB);
+        int shift = msb - SUB_BITS;
+        int top = (int) Math.min(value >>> shift, 2 * SUB_COUNT - 1);
+        return shift * SUB_COUNT + top;
+    }
+
+    private static long upperOf(int index) {
+        if (index < 2 * SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long top = index % SUB_COUNT + SUB_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + getMean() + "us, p50=" + percentile(0.5) + "us, p99=" + percentile(0.99)
+                + "us, p999=" + percentile(0.999) + "us, max=" + getMax() + "us";
+    }
+}
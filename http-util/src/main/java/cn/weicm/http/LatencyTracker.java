@@ -0,0 +1,53 @@
+package cn.weicm.http;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:53</p>
+ * <p>Desp: 基于环形缓冲区的近期延迟统计，用于计算对冲请求的触发延迟；线程安全，统计结果为近似值</p>
+ */
+public class LatencyTracker {
+    //样本容量
+    private static final int CAPACITY = 1024;
+    //每记录多少个样本重新计算一次分位数
+    private static final int RECOMPUTE_INTERVAL = 64;
+    //计算分位数所需的最少样本数
+    private static final int MIN_SAMPLES = 32;
+
+    private final long[] samples = new long[CAPACITY];
+    private final AtomicLong count = new AtomicLong();
+    private final double quantile;
+    private volatile long cached = -1;
+
+    public LatencyTracker(double quantile) {
+        this.quantile = quantile;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 记录一次请求延迟</p>
+     * @param millis 延迟，单位毫秒
+     */
+    public void record(long millis) {
+        long n = count.getAndIncrement();
+        samples[(int) (n % CAPACITY)] = millis;
+        if (n + 1 >= MIN_SAMPLES && (n + 1) % RECOMPUTE_INTERVAL == 0) {
+            long[] copy = Arrays.copyOf(samples, (int) Math.min(n + 1, CAPACITY));
+            Arrays.sort(copy);
+            cached = copy[(int) Math.min(copy.length - 1, Math.ceil(quantile * copy.length) - 1)];
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 获取近期延迟的分位数</p>
+     * @return 分位数，单位毫秒；样本不足时返回-1
+     */
+    public long quantile() {
+        return cached;
+    }
+}
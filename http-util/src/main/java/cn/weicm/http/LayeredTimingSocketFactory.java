@@ -0,0 +1,35 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:12</p>
+ * <p>Desp: 支持分层连接的计时套接字工厂包装，用于https：通过代理隧道访问https时，连接管理器需要在已建立的隧道上叠加TLS</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 隧道上的TLS握手耗时同样计入建立连接阶段</p>
+ */
+public class LayeredTimingSocketFactory extends TimingSocketFactory implements LayeredConnectionSocketFactory {
+    private final LayeredConnectionSocketFactory delegate;
+    private final HttpMetrics metrics;
+
+    public LayeredTimingSocketFactory(LayeredConnectionSocketFactory delegate, HttpMetrics metrics) {
+        super(delegate, metrics);
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.createLayeredSocket(socket, target, port, context);
+        } finally {
+            metrics.recordPhase(new HttpHost(target, port, "https").toURI(), HttpMetrics.Phase.CONNECT, System.nanoTime() - start);
+        }
+    }
+}
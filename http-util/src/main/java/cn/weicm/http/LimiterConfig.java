@@ -0,0 +1,179 @@
+package cn.weicm.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:11</p>
+ * <p>Desp: 客户端限流配置：按主机的令牌桶限速和基于 AIMD 的自适应并发限制，每个主机按此配置创建独立的限流器</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 限流在请求发送前生效，同步调用排队等待，超出队列长度或等待超时时拒绝；异步调用不等待</p>
+ */
+public class LimiterConfig {
+    //每个主机每秒发放的令牌数，小于等于0表示不限速
+    private double permitsPerSecond = 0;
+    //令牌桶容量，即允许的突发请求数
+    private int burst = 1;
+    //指定主机的每秒令牌数，覆盖默认值
+    private final Map<String, Double> hostPermitsPerSecond = new LinkedHashMap<>();
+    //是否开启自适应并发限制
+    private boolean adaptive = false;
+    //自适应并发限制的初始值、最小值、最大值
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    //请求被限流（429/503）或超时、延迟升高时，并发限制乘以该系数
+    private double backoffRatio = 0.9;
+    //平滑延迟超过最小延迟的该倍数时视为排队延迟升高，小于等于0表示只根据限流应答和超时调整
+    private double latencyTolerance = 0;
+    //最小延迟的统计窗口，单位毫秒，最小延迟取当前和上一个窗口的最小值，使后端延迟长期升高后基准随之更新
+    private long minRttWindow = 30000;
+    //每个主机每个限流器最多排队等待的调用数
+    private int queueSize = 100;
+    //同步调用排队的最长等待时间，单位毫秒
+    private long maxWait = 1000;
+
+    public static LimiterConfig create() {
+        return new LimiterConfig();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 开启按主机的令牌桶限速</p>
+     * @param permitsPerSecond 每秒令牌数
+     * @param burst 令牌桶容量，即允许的突发请求数
+     * @return 当前配置
+     */
+    public LimiterConfig rate(double permitsPerSecond, int burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 设置指定主机的每秒令牌数，如对方的限流阈值</p>
+     * @param host 主机，格式为 协议://主机:端口，与请求URL中的写法一致
+     * @param permitsPerSecond 每秒令牌数，小于等于0表示该主机不限速
+     * @return 当前配置
+     */
+    public LimiterConfig rate(String host, double permitsPerSecond) {
+        hostPermitsPerSecond.put(host, permitsPerSecond);
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 开启自适应并发限制：请求成功且并发已达上限时加性增加，被限流、超时或延迟升高时乘性减少</p>
+     * @param initialLimit 初始并发限制
+     * @param minLimit 最小并发限制
+     * @param maxLimit 最大并发限制
+     * @return 当前配置
+     */
+    public LimiterConfig adaptive(int initialLimit, int minLimit, int maxLimit) {
+        this.adaptive = true;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public LimiterConfig backoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 开启基于延迟的调整：平滑延迟超过最小延迟的指定倍数时减少并发上限，在对方开始返回429之前退让</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 延迟本身波动大的后端不宜开启，否则并发上限会持续减少</p>
+     * @param latencyTolerance 容忍倍数，如2.0
+     * @return 当前配置
+     */
+    public LimiterConfig latencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:10</p>
+     * <p>Desp: 设置最小延迟的统计窗口，基于延迟的调整以近一到两个窗口内的最小延迟为基准</p>
+     * @param minRttWindow 统计窗口，单位毫秒
+     * @return 当前配置
+     */
+    public LimiterConfig minRttWindow(long minRttWindow) {
+        this.minRttWindow = minRttWindow;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 设置排队等待的队列长度和最长等待时间</p>
+     * @param queueSize 最多排队等待的调用数，小于等于0表示不排队
+     * @param maxWait 最长等待时间，单位毫秒
+     * @return 当前配置
+     */
+    public LimiterConfig queue(int queueSize, long maxWait) {
+        this.queueSize = queueSize;
+        this.maxWait = maxWait;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取主机的每秒令牌数，优先使用主机单独的配置</p>
+     * @param host 主机
+     * @return 每秒令牌数，小于等于0表示不限速
+     */
+    public double getPermitsPerSecond(String host) {
+        Double hostRate = hostPermitsPerSecond.get(host);
+        return null != hostRate ? hostRate : permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public long getMinRttWindow() {
+        return minRttWindow;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+}
@@ -0,0 +1,150 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 统计请求体、应答体传输字节数的协议拦截器</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 请求体写完后记录发送字节数；应答体读完或关闭时记录接收字节数，需在解压拦截器之前执行以统计网络上传输的字节数</p>
+ */
+public class MeteringInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+    private final HttpMetrics metrics;
+
+    public MeteringInterceptor(HttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+        HttpEntityEnclosingRequest enclosing = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosing.getEntity();
+        if (null == entity) {
+            return;
+        }
+        String host = hostOf(context);
+        enclosing.setEntity(new HttpEntityWrapper(entity) {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                long[] sent = {0};
+                try {
+                    super.writeTo(new FilterOutputStream(out) {
+                        @Override
+                        public void write(int b) throws IOException {
+                            out.write(b);
+                            sent[0]++;
+                        }
+
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            out.write(b, off, len);
+                            sent[0] += len;
+                        }
+                    });
+                } finally {
+                    metrics.recordBytes(host, sent[0], 0);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        HttpEntity entity = response.getEntity();
+        if (null == entity) {
+            return;
+        }
+        String host = hostOf(context);
+        response.setEntity(new HttpEntityWrapper(entity) {
+            @Override
+            public InputStream getContent() throws IOException {
+                return new CountingInputStream(super.getContent(), host);
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                try (InputStream in = getContent()) {
+                    byte[] buffer = new byte[8192];
+                    for (int n; (n = in.read(buffer)) != -1; ) {
+                        out.write(buffer, 0, n);
+                    }
+                }
+            }
+        });
+    }
+
+    private static String hostOf(HttpContext context) {
+        HttpHost target = HttpCoreContext.adapt(context).getTargetHost();
+        return null == target ? null : target.toURI();
+    }
+
+    /**
+     * 统计读取字节数的输入流，读到末尾或关闭时记录一次
+     */
+    private class CountingInputStream extends FilterInputStream {
+        private final String host;
+        private long received = 0;
+        private boolean recorded = false;
+
+        private CountingInputStream(InputStream in, String host) {
+            super(in);
+            this.host = host;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                received++;
+            } else {
+                record();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                received += n;
+            } else if (n < 0) {
+                record();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                record();
+            }
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                metrics.recordBytes(host, 0, received);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:47</p>
+ * <p>Desp: 统计发送字节数的请求体包装，每写出一块数据回调一次进度监听器</p>
+ */
+public class ProgressEntity extends HttpEntityWrapper {
+    private final ProgressListener listener;
+
+    public ProgressEntity(HttpEntity entity, ProgressListener listener) {
+        super(entity);
+        this.listener = listener;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        final long total = getContentLength();
+        super.writeTo(new FilterOutputStream(out) {
+            private long sent = 0;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                sent++;
+                listener.progress(sent, total);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                sent += len;
+                listener.progress(sent, total);
+            }
+        });
+    }
+}
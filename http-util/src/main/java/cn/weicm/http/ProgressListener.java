@@ -0,0 +1,17 @@
+package cn.weicm.http;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:47</p>
+ * <p>Desp: 请求体发送进度监听器，在发送请求体的线程中回调，实现应尽量轻量</p>
+ */
+public interface ProgressListener {
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 发送进度回调</p>
+     * @param sent 已发送字节数
+     * @param total 总字节数，未知时为-1
+     */
+    void progress(long sent, long total);
+}
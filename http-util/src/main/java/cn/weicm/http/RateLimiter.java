@@ -0,0 +1,86 @@
+package cn.weicm.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:11</p>
+ * <p>Desp: 令牌桶限速器：按固定速率发放令牌，桶满时丢弃，允许不超过桶容量的突发请求；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 令牌不足时预占下一个令牌并在锁外等待，排队的调用按到达顺序依次获得令牌</p>
+ */
+public class RateLimiter {
+    //每纳秒发放的令牌数
+    private final double permitsPerNano;
+    //令牌桶容量
+    private final double burst;
+    //最多排队等待的调用数
+    private final int queueSize;
+    //当前令牌数，为负数时表示已被排队的调用预占
+    private double tokens;
+    //上次发放令牌的时间，单位纳秒
+    private long refillTime;
+    //正在排队等待的调用数
+    private int waiting = 0;
+
+    public RateLimiter(double permitsPerSecond, int burst, int queueSize) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(burst, 1);
+        this.queueSize = queueSize;
+        this.tokens = this.burst;
+        this.refillTime = System.nanoTime();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 获取一个令牌，令牌不足时排队等待</p>
+     * @param maxWait 最长等待时间，单位毫秒，小于等于0表示不等待
+     * @return 获取成功返回true，排队已满或等待时间不足时返回false
+     * @throws InterruptedException 等待时被中断，预占的令牌会归还
+     */
+    public boolean tryAcquire(long maxWait) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(maxWait) || waiting >= queueSize) {
+                return false;
+            }
+            tokens -= 1;
+            waiting++;
+        }
+        boolean acquired = false;
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            acquired = true;
+            return true;
+        } finally {
+            synchronized (this) {
+                waiting--;
+                if (!acquired) {
+                    tokens += 1;
+                }
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refillTime) * permitsPerNano);
+        refillTime = now;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 当前排队等待的调用数</p>
+     * @return 排队调用数
+     */
+    public synchronized int waiting() {
+        return waiting;
+    }
+}
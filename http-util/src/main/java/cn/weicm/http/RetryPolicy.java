@@ -0,0 +1,50 @@
+package cn.weicm.http;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:53</p>
+ * <p>Desp: 重试策略：指数退避加随机抖动（full jitter），第n次重试前等待 [0, min(maxDelay, baseDelay * 2^(n-1))] 之间的随机时长</p>
+ */
+public class RetryPolicy {
+    //不重试
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, false);
+
+    //最大尝试次数，包括第一次请求
+    private final int maxAttempts;
+    //退避基准时长，单位毫秒
+    private final long baseDelay;
+    //退避最大时长，单位毫秒
+    private final long maxDelay;
+    //是否重试非幂等请求（POST），请求体不可重复读取时始终不重试
+    private final boolean retryNonIdempotent;
+
+    public RetryPolicy(int maxAttempts, long baseDelay, long maxDelay, boolean retryNonIdempotent) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 计算第 attempt 次请求失败后的退避时长</p>
+     * @param attempt 已完成的请求次数，从1开始
+     * @return 退避时长，单位毫秒
+     */
+    public long backoff(int attempt) {
+        long exp = baseDelay << Math.min(attempt - 1, 30);
+        long bound = exp <= 0 ? maxDelay : Math.min(maxDelay, exp);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+}
@@ -0,0 +1,65 @@
+package cn.weicm.http;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:50</p>
+ * <p>Desp: 请求合并：相同键的并发调用只执行一次，其余调用等待并共享同一结果；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 第一个到达的调用在自身线程中执行任务，执行结束后移除该键，之后到达的调用重新执行</p>
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ */
+public class SingleFlight<K, V> {
+    //执行中的任务
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:50</p>
+     * <p>Desp: 执行任务，相同键的任务正在执行时等待其结果</p>
+     * @param key 任务键
+     * @param task 任务
+     * @param timeout 等待其他调用执行结果的超时时间，单位毫秒；自身执行任务时不受此限制
+     * @return 任务结果
+     * @throws TimeoutException 等待超时
+     * @throws Exception 任务执行异常
+     */
+    public V execute(K key, Callable<V> task, long timeout) throws Exception {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (null != existing) {
+            try {
+                return existing.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        try {
+            V value = task.call();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:50</p>
+     * <p>Desp: 当前执行中的任务数</p>
+     * @return 任务数
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,31 @@
+package cn.weicm.http;
+
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:49</p>
+ * <p>Desp: 带统计功能的缓存HttpClient构造器，每次请求结束后按缓存应答状态计数</p>
+ */
+public class StatsCachingHttpClientBuilder extends CachingHttpClientBuilder {
+    private final HttpCacheStats stats;
+
+    public StatsCachingHttpClientBuilder(HttpCacheStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+        final ClientExecChain cachingExec = super.decorateMainExec(mainExec);
+        return (route, request, context, execAware) -> {
+            try {
+                return cachingExec.execute(route, request, context, execAware);
+            } finally {
+                stats.record((CacheResponseStatus) context.getAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS));
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package cn.weicm.http;
+
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 记录DNS解析耗时的解析器包装</p>
+ */
+public class TimingDnsResolver implements DnsResolver {
+    private final DnsResolver delegate;
+    private final HttpMetrics metrics;
+
+    public TimingDnsResolver(DnsResolver delegate, HttpMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return delegate.resolve(host);
+        } finally {
+            metrics.recordPhase(host, HttpMetrics.Phase.DNS, System.nanoTime() - start);
+        }
+    }
+}
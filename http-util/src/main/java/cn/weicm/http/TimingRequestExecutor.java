@@ -0,0 +1,58 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpInetConnection;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 记录首字节时间的请求执行器：从请求发送完毕到收到应答头；同时记录每个地址从发送请求到收到应答头期间进行中的请求数</p>
+ */
+public class TimingRequestExecutor extends HttpRequestExecutor {
+    private final HttpMetrics metrics;
+    //记录每个地址进行中的请求数，为null时不记录
+    private final CachingDnsResolver dnsResolver;
+
+    public TimingRequestExecutor(HttpMetrics metrics, CachingDnsResolver dnsResolver) {
+        this.metrics = metrics;
+        this.dnsResolver = dnsResolver;
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+            throws IOException, HttpException {
+        InetAddress address = null != dnsResolver && conn instanceof HttpInetConnection
+                ? ((HttpInetConnection) conn).getRemoteAddress() : null;
+        if (null == address) {
+            return super.execute(request, conn, context);
+        }
+        dnsResolver.begin(address);
+        try {
+            return super.execute(request, conn, context);
+        } finally {
+            dnsResolver.end(address);
+        }
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+            throws HttpException, IOException {
+        long start = System.nanoTime();
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        HttpHost target = HttpCoreContext.adapt(context).getTargetHost();
+        if (null != target) {
+            metrics.recordPhase(target.toURI(), HttpMetrics.Phase.TTFB, System.nanoTime() - start);
+        }
+        return response;
+    }
+}
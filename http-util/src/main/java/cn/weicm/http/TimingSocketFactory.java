@@ -0,0 +1,40 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:15</p>
+ * <p>Desp: 记录建立连接耗时的套接字工厂包装，https连接的耗时包括TLS握手</p>
+ */
+public class TimingSocketFactory implements ConnectionSocketFactory {
+    private final ConnectionSocketFactory delegate;
+    private final HttpMetrics metrics;
+
+    public TimingSocketFactory(ConnectionSocketFactory delegate, HttpMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+        } finally {
+            metrics.recordPhase(host.toURI(), HttpMetrics.Phase.CONNECT, System.nanoTime() - start);
+        }
+    }
+}
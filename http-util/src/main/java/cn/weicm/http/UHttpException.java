@@ -0,0 +1,159 @@
+package cn.weicm.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:53</p>
+ * <p>Desp: UHttp 请求异常，按失败类型区分，调用方据此区分请求失败与空应答体</p>
+ */
+public class UHttpException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 失败类型
+     */
+    public enum Kind {
+        //应答状态码大于等于300
+        STATUS,
+        //连接或读取超时
+        TIMEOUT,
+        //无法建立连接
+        CONNECT,
+        //无法解析主机名
+        UNKNOWN_HOST,
+        //其他I/O异常
+        IO,
+        //超出调用的时间预算
+        DEADLINE,
+        //调用线程被中断
+        INTERRUPTED,
+        //主机熔断中，请求未发送
+        CIRCUIT_OPEN,
+        //主机并发调用数已满，请求未发送
+        BULKHEAD_FULL,
+        //应答体无法解析为目标类型
+        DECODE,
+        //超出主机的限速，请求未发送
+        RATE_LIMITED,
+        //超出主机的自适应并发限制，请求未发送
+        CONCURRENCY_LIMITED
+    }
+
+    private final Kind kind;
+    private final String url;
+    //应答状态码，非 STATUS 类型时为-1
+    private final int statusCode;
+
+    public UHttpException(Kind kind, String url, String message, Throwable cause) {
+        this(kind, url, -1, message, cause);
+    }
+
+    public UHttpException(Kind kind, String url, int statusCode, String message, Throwable cause) {
+        super(kind + " " + message + " url: " + url, cause);
+        this.kind = kind;
+        this.url = url;
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 将I/O异常按类型转换为 UHttpException</p>
+     * @param url 请求URL
+     * @param e I/O异常
+     * @return 请求异常
+     */
+    public static UHttpException of(String url, IOException e) {
+        if (e instanceof HttpResponseException) {
+            int status = ((HttpResponseException) e).getStatusCode();
+            return new UHttpException(Kind.STATUS, url, status, "Status " + status + "!", e);
+        }
+        if (e instanceof JsonProcessingException) {
+            return new UHttpException(Kind.DECODE, url, "Decode response exception!", e);
+        }
+        if (e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException) {
+            return new UHttpException(Kind.TIMEOUT, url, "Request timeout!", e);
+        }
+        if (e instanceof ConnectException || e instanceof NoRouteToHostException) {
+            return new UHttpException(Kind.CONNECT, url, "Connect failed!", e);
+        }
+        if (e instanceof UnknownHostException) {
+            return new UHttpException(Kind.UNKNOWN_HOST, url, "Unknown host!", e);
+        }
+        if (e instanceof InterruptedIOException && Thread.currentThread().isInterrupted()) {
+            return new UHttpException(Kind.INTERRUPTED, url, "Request interrupted!", e);
+        }
+        return new UHttpException(Kind.IO, url, "Request execute exception!", e);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:53</p>
+     * <p>Desp: 是否为可重试的失败：超时、连接失败、I/O异常，以及状态码 429、502、503、504</p>
+     * @return 可重试返回true
+     */
+    public boolean isRetryable() {
+        switch (kind) {
+            case TIMEOUT:
+            case CONNECT:
+            case IO:
+                return true;
+            case STATUS:
+                return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:11</p>
+     * <p>Desp: 是否为后端过载的信号：超时，或状态码429、503</p>
+     * @return 是否过载
+     */
+    public boolean isOverload() {
+        return Kind.TIMEOUT == kind || (Kind.STATUS == kind && (statusCode == 429 || statusCode == 503));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:55</p>
+     * <p>Desp: 是否为服务端失败，用于熔断统计：超时、连接失败、主机名无法解析、I/O异常，以及状态码大于等于500</p>
+     * @return 服务端失败返回true
+     */
+    public boolean isServerFailure() {
+        switch (kind) {
+            case TIMEOUT:
+            case CONNECT:
+            case UNKNOWN_HOST:
+            case IO:
+                return true;
+            case STATUS:
+                return statusCode >= 500;
+            default:
+                return false;
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
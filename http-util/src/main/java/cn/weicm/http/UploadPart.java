@@ -0,0 +1,197 @@
+package cn.weicm.http;
+
+import org.apache.http.Consts;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.InputStreamBody;
+import org.apache.http.entity.mime.content.StringBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 20:47</p>
+ * <p>Desp: 上传请求体的一个部分，支持文件路径、输入流、ByteBuffer（包括内存映射区域）、通道、文本</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 所有部分在发送请求时才按需读取并直接写入连接，不在内存中暂存副本</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 长度未知的部分（输入流、通道）会使整个请求体使用 chunked 传输</p>
+ */
+public final class UploadPart {
+    //通道传输时单次传输的最大字节数
+    private static final long TRANSFER_SIZE = 8 * 1024 * 1024;
+    //部分名称
+    private final String name;
+    //部分内容
+    private final ContentBody body;
+
+    private UploadPart(String name, ContentBody body) {
+        this.name = name;
+        this.body = body;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 文件部分，发送时通过 FileChannel.transferTo 从文件直接传输，支持重复发送</p>
+     * @param name 部分名称
+     * @param file 文件路径
+     * @return 上传部分
+     */
+    public static UploadPart of(String name, Path file) {
+        return new UploadPart(name, new FileChannelBody(file));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 输入流部分，长度未知，只能发送一次</p>
+     * @param name 部分名称
+     * @param in 输入流
+     * @param fileName 文件名
+     * @return 上传部分
+     */
+    public static UploadPart of(String name, InputStream in, String fileName) {
+        return new UploadPart(name, new InputStreamBody(in, ContentType.APPLICATION_OCTET_STREAM, fileName));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: ByteBuffer部分，发送 position 到 limit 之间的内容，不改变原缓冲区的位置，支持直接内存和内存映射缓冲区</p>
+     * @param name 部分名称
+     * @param buffer 缓冲区
+     * @param fileName 文件名
+     * @return 上传部分
+     */
+    public static UploadPart of(String name, ByteBuffer buffer, String fileName) {
+        return new UploadPart(name, new ByteBufferBody(buffer, fileName));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 通道部分，读取到通道结束，长度未知，只能发送一次</p>
+     * @param name 部分名称
+     * @param channel 可读通道
+     * @param fileName 文件名
+     * @return 上传部分
+     */
+    public static UploadPart of(String name, ReadableByteChannel channel, String fileName) {
+        return of(name, Channels.newInputStream(channel), fileName);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 20:47</p>
+     * <p>Desp: 文本部分，使用UTF-8编码</p>
+     * @param name 部分名称
+     * @param value 文本
+     * @return 上传部分
+     */
+    public static UploadPart text(String name, String value) {
+        return new UploadPart(name, new StringBody(value, ContentType.create("text/plain", Consts.UTF_8)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ContentBody getBody() {
+        return body;
+    }
+
+    /**
+     * 基于 FileChannel.transferTo 的文件内容
+     */
+    private static class FileChannelBody extends AbstractContentBody {
+        private final Path file;
+
+        private FileChannelBody(Path file) {
+            super(ContentType.APPLICATION_OCTET_STREAM);
+            this.file = file;
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFileName().toString();
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            WritableByteChannel target = Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, Math.min(TRANSFER_SIZE, size - position), target);
+                }
+            }
+        }
+
+        @Override
+        public String getTransferEncoding() {
+            return "binary";
+        }
+
+        @Override
+        public long getContentLength() {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 基于 ByteBuffer 的内容
+     */
+    private static class ByteBufferBody extends AbstractContentBody {
+        private final ByteBuffer buffer;
+        private final String fileName;
+
+        private ByteBufferBody(ByteBuffer buffer, String fileName) {
+            super(ContentType.APPLICATION_OCTET_STREAM);
+            this.buffer = buffer;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            ByteBuffer src = buffer.duplicate();
+            if (src.hasArray()) {
+                out.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(out);
+            while (src.hasRemaining()) {
+                target.write(src);
+            }
+        }
+
+        @Override
+        public String getTransferEncoding() {
+            return "binary";
+        }
+
+        @Override
+        public long getContentLength() {
+            return buffer.remaining();
+        }
+    }
+}
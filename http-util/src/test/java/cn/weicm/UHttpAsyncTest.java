@@ -0,0 +1,109 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:52</p>
+ * <p>Desp: UHttp 异步请求：结果、失败类型、取消，以及失败时归还舱壁许可</p>
+ */
+public class UHttpAsyncTest {
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+        http = UHttp.builder().ioThreads(2).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void getAsyncCompletesWithBody() throws Exception {
+        assertEquals("/ok", http.getAsync(server.url("/ok")).get(10, TimeUnit.SECONDS));
+        server.handle("/json", exchange -> TestServer.respond(exchange, 200, new String(server.lastBody(), "UTF-8")));
+        assertEquals("{\"a\":1}", http.postAsync(server.url("/json"), "{\"a\":1}").get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void manyConcurrentCallsComplete() throws Exception {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(http.getAsync(server.url("/ok"), Collections.singletonMap("i", String.valueOf(i))));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        assertEquals(200, server.count("/ok"));
+    }
+
+    @Test
+    public void errorStatusCompletesExceptionally() {
+        server.handle("/fail", exchange -> TestServer.respond(exchange, 503, "busy"));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> http.getAsync(server.url("/fail")).get(10, TimeUnit.SECONDS));
+        UHttpException cause = assertInstanceOf(UHttpException.class, e.getCause());
+        assertEquals(UHttpException.Kind.STATUS, cause.getKind());
+        assertEquals(503, cause.getStatusCode());
+    }
+
+    @Test
+    public void cancelAbortsRequest() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.handle("/slow", exchange -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            TestServer.respond(exchange, 200, "late");
+        });
+        CompletableFuture<String> future = http.getAsync(server.url("/slow"));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        release.countDown();
+    }
+
+    @Test
+    public void clientCreationFailureDoesNotLeakPermit() throws Exception {
+        //I/O 线程数为0时创建异步客户端失败，每次调用都应以 IO 失败结束，而不是占满舱壁
+        try (UHttp broken = UHttp.builder().ioThreads(0).bulkhead(1, 0).build()) {
+            for (int i = 0; i < 3; i++) {
+                ExecutionException e = assertThrows(ExecutionException.class,
+                        () -> broken.getAsync(server.url("/ok")).get(10, TimeUnit.SECONDS));
+                assertEquals(UHttpException.Kind.IO, ((UHttpException) e.getCause()).getKind());
+            }
+        }
+    }
+
+    @Test
+    public void closedClientFailsInsteadOfThrowing() throws Exception {
+        UHttp closed = UHttp.builder().bulkhead(1, 0).build();
+        closed.getAsync(server.url("/ok")).get(10, TimeUnit.SECONDS);
+        closed.close();
+        for (int i = 0; i < 2; i++) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> closed.getAsync(server.url("/ok")).get(10, TimeUnit.SECONDS));
+            assertEquals(UHttpException.Kind.IO, ((UHttpException) e.getCause()).getKind());
+        }
+    }
+}
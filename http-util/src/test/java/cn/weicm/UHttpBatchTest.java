@@ -0,0 +1,107 @@
+package cn.weicm;
+
+import cn.weicm.http.BatchResult;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:06</p>
+ * <p>Desp: UHttp 批量请求：结果按输入顺序返回，单个失败不影响其他请求，并发数受限</p>
+ */
+public class UHttpBatchTest {
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void resultsKeepInputOrder() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            urls.add(server.url("/item" + i));
+        }
+        List<BatchResult<String>> results = http.getBatch(urls, 8);
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals("/item" + i, results.get(i).getValue());
+            assertNull(results.get(i).getError());
+        }
+    }
+
+    @Test
+    public void concurrencyIsBounded() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        server.handle("/slow", exchange -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            active.decrementAndGet();
+            TestServer.respond(exchange, 200, "ok");
+        });
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            urls.add(server.url("/slow"));
+        }
+        http.getBatch(urls, 3);
+        assertTrue(peak.get() <= 3, "peak: " + peak.get());
+    }
+
+    @Test
+    public void failedItemDoesNotFailBatch() {
+        server.handle("/fail", exchange -> TestServer.respond(exchange, 500, "err"));
+        List<BatchResult<String>> results = http.getBatch(Arrays.asList(server.url("/a"), server.url("/fail"), server.url("/b")), 2);
+        assertEquals("/a", results.get(0).getValue());
+        assertEquals(500, results.get(1).getError().getStatusCode());
+        assertEquals("/b", results.get(2).getValue());
+    }
+
+    @Test
+    public void malformedUrlBecomesItemFailure() {
+        //new HttpGet 对格式错误的URL同步抛出 IllegalArgumentException，只应使该项失败
+        List<String> urls = Arrays.asList(server.url("/a"), "http://bad host/x", server.url("/b"), "::");
+        List<BatchResult<String>> results = http.getBatch(urls, 1);
+        assertEquals(4, results.size());
+        assertEquals("/a", results.get(0).getValue());
+        UHttpException error = results.get(1).getError();
+        assertNotNull(error);
+        assertEquals(UHttpException.Kind.IO, error.getKind());
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+        assertEquals("/b", results.get(2).getValue());
+        assertNotNull(results.get(3).getError());
+        //许可已全部归还，后续批量请求正常
+        assertEquals("/c", http.getBatch(Arrays.asList(server.url("/c")), 1).get(0).getValue());
+    }
+
+    @Test
+    public void postBatchSendsEachBody() {
+        server.handle("/echo", exchange -> TestServer.respond(exchange, 200, server.lastBody()));
+        List<BatchResult<String>> results = http.postBatch(server.url("/echo"), Arrays.asList("{\"i\":0}", "{\"i\":1}"), 1);
+        assertEquals("{\"i\":0}", results.get(0).getValue());
+        assertEquals("{\"i\":1}", results.get(1).getValue());
+    }
+}
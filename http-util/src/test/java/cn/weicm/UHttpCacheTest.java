@@ -0,0 +1,120 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:55</p>
+ * <p>Desp: UHttp 应答缓存：Cache-Control 命中、ETag 条件验证、no-store、POST 使缓存失效，以及缓存统计</p>
+ */
+public class UHttpCacheTest {
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+        http = UHttp.builder().cache(100, 1024 * 1024).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void freshResponseIsServedFromCache() {
+        AtomicInteger version = new AtomicInteger();
+        server.handle("/fresh", exchange -> TestServer.respond(exchange, 200,
+                "v" + version.incrementAndGet(), "Cache-Control", "max-age=60"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v1", http.get(server.url("/fresh")));
+        }
+        assertEquals(1, server.count("/fresh"));
+        assertEquals(4, http.cacheStats().getHits());
+        assertEquals(1, http.cacheStats().getMisses());
+    }
+
+    @Test
+    public void staleEntryIsRevalidatedWithEtag() {
+        server.handle("/etag", exchange -> {
+            if ("\"e1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                TestServer.respond(exchange, 304, "", "ETag", "\"e1\"", "Cache-Control", "max-age=0");
+            } else {
+                TestServer.respond(exchange, 200, "body", "ETag", "\"e1\"", "Cache-Control", "max-age=0");
+            }
+        });
+        assertEquals("body", http.get(server.url("/etag")));
+        assertEquals("body", http.get(server.url("/etag")));
+        assertEquals(2, server.count("/etag"));
+        assertEquals(1, http.cacheStats().getValidated(), http.cacheStats().toString());
+    }
+
+    @Test
+    public void noStoreIsNotCached() {
+        server.handle("/nostore", exchange -> TestServer.respond(exchange, 200, "x", "Cache-Control", "no-store"));
+        http.get(server.url("/nostore"));
+        http.get(server.url("/nostore"));
+        assertEquals(2, server.count("/nostore"));
+        assertEquals(0, http.cacheStats().getHits());
+    }
+
+    @Test
+    public void postInvalidatesCachedUrl() {
+        AtomicInteger version = new AtomicInteger();
+        server.handle("/item", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                TestServer.respond(exchange, 200, "updated");
+            } else {
+                TestServer.respond(exchange, 200, "v" + version.incrementAndGet(), "Cache-Control", "max-age=60");
+            }
+        });
+        assertEquals("v1", http.get(server.url("/item")));
+        assertEquals("v1", http.get(server.url("/item")));
+        http.post(server.url("/item"), "{}");
+        assertEquals("v2", http.get(server.url("/item")));
+    }
+
+    @Test
+    public void cacheDisabledByDefault() throws Exception {
+        try (UHttp plain = UHttp.builder().build()) {
+            server.handle("/fresh", exchange -> TestServer.respond(exchange, 200, "x", "Cache-Control", "max-age=60"));
+            plain.get(server.url("/fresh"));
+            plain.get(server.url("/fresh"));
+            assertEquals(2, server.count("/fresh"));
+            assertEquals(0, plain.cacheStats().getHits());
+        }
+    }
+
+    @Test
+    public void diskCacheServesEvictedKeysAndDeletesFilesOnClose(@TempDir Path dir) throws Exception {
+        server.handle("/disk", exchange -> TestServer.respond(exchange, 200,
+                exchange.getRequestURI().getQuery(), "Cache-Control", "max-age=60"));
+        try (UHttp disk = UHttp.builder().cache(2, 1024 * 1024).cacheDir(dir).build()) {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 4; i++) {
+                    assertEquals("k=" + i, disk.get(server.url("/disk?k=" + i)));
+                }
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                assertTrue(files.count() >= 2);
+            }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cn.weicm;
+
+import cn.weicm.http.CallOptions;
+import cn.weicm.http.TestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:04</p>
+ * <p>Desp: UHttp 压缩：同步、异步应答解压，按配置声明 Accept-Encoding</p>
+ */
+public class UHttpCompressionTest {
+    private static final String TEXT;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append("compressible line ").append(i % 10).append('\n');
+        }
+        TEXT = sb.toString();
+    }
+
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer().handle("/gzip", exchange -> {
+            String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (null != accept && accept.contains("gzip")) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                    gzip.write(TEXT.getBytes(StandardCharsets.UTF_8));
+                }
+                TestServer.respond(exchange, 200, bytes.toByteArray(), "Content-Encoding", "gzip");
+            } else {
+                TestServer.respond(exchange, 200, TEXT);
+            }
+        });
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    private String acceptEncoding() {
+        return server.lastHeaders().getFirst("Accept-Encoding");
+    }
+
+    @Test
+    public void syncResponseIsDecoded() {
+        assertEquals(TEXT, http.get(server.url("/gzip")));
+        assertTrue(acceptEncoding().contains("gzip"));
+        assertTrue(http.compressionStats().toString().length() > 0);
+    }
+
+    @Test
+    public void asyncResponseIsDecoded() throws Exception {
+        assertEquals(TEXT, http.getAsync(server.url("/gzip")).get(10, TimeUnit.SECONDS));
+        assertTrue(acceptEncoding().contains("gzip"));
+    }
+
+    @Test
+    public void compressionOffSendsNoAcceptEncoding() throws Exception {
+        UHttp plain = http.with(CallOptions.create().compression(false));
+        assertEquals(TEXT, plain.get(server.url("/gzip")));
+        assertNull(acceptEncoding());
+        assertEquals(TEXT, plain.getAsync(server.url("/gzip")).get(10, TimeUnit.SECONDS));
+        assertNull(acceptEncoding());
+    }
+
+    @Test
+    public void compressionOffInSettingsAppliesToAsync() throws Exception {
+        try (UHttp plain = UHttp.builder().compression(false).build()) {
+            assertEquals(TEXT, plain.getAsync(server.url("/gzip")).get(10, TimeUnit.SECONDS));
+            assertNull(acceptEncoding());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cn.weicm;
+
+import cn.weicm.http.DnsConfig;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:13</p>
+ * <p>Desp: UHttp DNS：自定义解析器、DNS缓存命中，默认不缓存</p>
+ */
+public class UHttpDnsTest {
+    private TestServer server;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private InetAddress[] resolve(String host) throws UnknownHostException {
+        lookups.incrementAndGet();
+        if (!"svc.test".equals(host)) {
+            throw new UnknownHostException(host);
+        }
+        return new InetAddress[]{InetAddress.getLoopbackAddress()};
+    }
+
+    @Test
+    public void customResolverWithCache() throws Exception {
+        //应答后关闭连接，每次请求都新建连接并解析主机名
+        server.handle("/close", exchange -> TestServer.respond(exchange, 200, "closed", "Connection", "close"));
+        try (UHttp http = UHttp.builder().dnsResolver(this::resolve).dns(DnsConfig.create()).build()) {
+            String url = "http://svc.test:" + server.port() + "/close";
+            for (int i = 0; i < 3; i++) {
+                assertEquals("closed", http.get(url));
+            }
+            assertEquals(3, server.clientPorts().size());
+            assertEquals(1, lookups.get());
+            assertEquals(1, http.dnsCache().getMisses());
+            assertEquals(2, http.dnsCache().getHits());
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get("http://other.test:1/ok"));
+            assertEquals(UHttpException.Kind.UNKNOWN_HOST, e.getKind());
+        }
+    }
+
+    @Test
+    public void noCacheByDefault() throws Exception {
+        try (UHttp http = UHttp.builder().dnsResolver(this::resolve).build()) {
+            assertNull(http.dnsCache());
+            assertEquals("/ok", http.get("http://svc.test:" + server.port() + "/ok"));
+            assertEquals(1, lookups.get());
+        }
+    }
+}
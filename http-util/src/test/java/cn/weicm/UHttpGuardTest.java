@@ -0,0 +1,89 @@
+package cn.weicm;
+
+import cn.weicm.http.CircuitBreakerConfig;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:01</p>
+ * <p>Desp: UHttp 按主机的熔断器和舱壁：熔断后不发送请求，舱壁满时快速失败，主机之间互不影响</p>
+ */
+public class UHttpGuardTest {
+    private TestServer server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer().handle("/fail", exchange -> TestServer.respond(exchange, 500, "err"));
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void openBreakerRejectsWithoutSending() throws Exception {
+        CircuitBreakerConfig config = CircuitBreakerConfig.create().windowSize(10).minimumCalls(3).openDuration(60000);
+        try (UHttp http = UHttp.builder().circuitBreaker(config).build()) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(500, assertThrows(UHttpException.class, () -> http.get(server.url("/fail"))).getStatusCode());
+            }
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/ok")));
+            assertEquals(UHttpException.Kind.CIRCUIT_OPEN, e.getKind());
+            assertEquals(0, server.count("/ok"));
+            //其他主机不受影响
+            String other = "http://localhost:" + server.port() + "/ok";
+            assertEquals("/ok", http.get(other));
+        }
+    }
+
+    @Test
+    public void clientErrorsDoNotOpenBreaker() throws Exception {
+        server.handle("/missing", exchange -> TestServer.respond(exchange, 404, "no"));
+        CircuitBreakerConfig config = CircuitBreakerConfig.create().windowSize(10).minimumCalls(3);
+        try (UHttp http = UHttp.builder().circuitBreaker(config).build()) {
+            for (int i = 0; i < 5; i++) {
+                assertThrows(UHttpException.class, () -> http.get(server.url("/missing")));
+            }
+            assertEquals("/ok", http.get(server.url("/ok")));
+        }
+    }
+
+    @Test
+    public void fullBulkheadFailsFast() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.handle("/slow", exchange -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            TestServer.respond(exchange, 200, "done");
+        });
+        try (UHttp http = UHttp.builder().bulkhead(1, 0).build()) {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> http.get(server.url("/slow")), executor);
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/ok")));
+            assertEquals(UHttpException.Kind.BULKHEAD_FULL, e.getKind());
+            release.countDown();
+            assertEquals("done", first.get(10, TimeUnit.SECONDS));
+            //许可已归还
+            assertEquals("/ok", http.get(server.url("/ok")));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:07</p>
+ * <p>Desp: UHttp JSON 绑定：按类和泛型引用反序列化应答，请求对象直接序列化，解析失败为 DECODE 类型</p>
+ */
+public class UHttpJsonTest {
+    private TestServer server;
+    private UHttp http;
+
+    public static class Item {
+        public String name;
+        public int count;
+
+        public Item() {
+        }
+
+        public Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer()
+                .handle("/item", exchange -> TestServer.respond(exchange, 200, "{\"name\":\"中文\",\"count\":3}"))
+                .handle("/items", exchange -> TestServer.respond(exchange, 200, "[{\"name\":\"a\",\"count\":1},{\"name\":\"b\",\"count\":2}]"))
+                .handle("/echo", exchange -> TestServer.respond(exchange, 200, server.lastBody()))
+                .handle("/empty", exchange -> TestServer.respond(exchange, 200, ""))
+                .handle("/bad", exchange -> TestServer.respond(exchange, 200, "{not json"));
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void getJsonBindsClass() {
+        Item item = http.getJson(server.url("/item"), null, Item.class);
+        assertEquals("中文", item.name);
+        assertEquals(3, item.count);
+    }
+
+    @Test
+    public void getJsonBindsGenericType() {
+        List<Item> items = http.getJson(server.url("/items"), null, new TypeRef<List<Item>>() {
+        });
+        assertEquals(2, items.size());
+        assertEquals("b", items.get(1).name);
+    }
+
+    @Test
+    public void postJsonSerializesBodyAndBindsResponse() {
+        Item echoed = http.postJson(server.url("/echo"), new Item("x", 7), Item.class);
+        assertEquals("x", echoed.name);
+        assertEquals(7, echoed.count);
+        assertEquals("application/json; charset=UTF-8", server.lastHeaders().getFirst("Content-Type"));
+
+        Map<String, List<Integer>> map = http.postJson(server.url("/echo"),
+                Collections.singletonMap("k", Arrays.asList(1, 2)), new TypeRef<Map<String, List<Integer>>>() {
+                });
+        assertEquals(Arrays.asList(1, 2), map.get("k"));
+    }
+
+    @Test
+    public void nonUtfCharsetIsHonored() {
+        server.handle("/latin", exchange -> TestServer.respond(exchange, 200,
+                "{\"name\":\"café\",\"count\":1}".getBytes(StandardCharsets.ISO_8859_1),
+                "Content-Type", "application/json; charset=ISO-8859-1"));
+        assertEquals("café", http.getJson(server.url("/latin"), null, Item.class).name);
+    }
+
+    @Test
+    public void emptyBodyIsNullAndBadBodyIsDecodeError() {
+        assertNull(http.getJson(server.url("/empty"), null, Item.class));
+        UHttpException e = assertThrows(UHttpException.class, () -> http.getJson(server.url("/bad"), null, Item.class));
+        assertEquals(UHttpException.Kind.DECODE, e.getKind());
+    }
+}
@@ -0,0 +1,104 @@
+package cn.weicm;
+
+import cn.weicm.http.HttpMetrics;
+import cn.weicm.http.JmxHttpMetrics;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.apache.http.config.Lookup;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:12</p>
+ * <p>Desp: UHttp 指标采集：调用、字节数、阶段耗时，默认的 JMX 实现，https 使用支持分层连接的套接字工厂</p>
+ */
+public class UHttpMetricsTest {
+    private TestServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void recordsCallsBytesAndPhases() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        HttpMetrics metrics = new HttpMetrics() {
+            @Override
+            public void recordCall(String host, String method, long nanos, UHttpException.Kind error) {
+                events.add("call " + host + " " + method + " " + error);
+            }
+
+            @Override
+            public void recordBytes(String host, long sent, long received) {
+                events.add("bytes " + sent + " " + received);
+            }
+
+            @Override
+            public void recordPhase(String host, Phase phase, long nanos) {
+                events.add("phase " + host + " " + phase);
+            }
+        };
+        server.handle("/missing", exchange -> TestServer.respond(exchange, 404, "no"));
+        try (UHttp http = UHttp.builder().metrics(metrics).build()) {
+            http.get(server.url("/ok"));
+            assertThrows(UHttpException.class, () -> http.get(server.url("/missing")));
+        }
+        String host = server.base();
+        assertTrue(events.contains("call " + host + " GET null"), events.toString());
+        assertTrue(events.contains("call " + host + " GET STATUS"), events.toString());
+        assertTrue(events.contains("phase " + host + " CONNECT"), events.toString());
+        assertTrue(events.contains("phase " + host + " TTFB"), events.toString());
+        assertTrue(events.contains("bytes 0 3"), events.toString());
+    }
+
+    @Test
+    public void defaultMetricsAreJmx() throws Exception {
+        try (UHttp http = UHttp.builder().build()) {
+            http.get(server.url("/ok"));
+            JmxHttpMetrics metrics = assertInstanceOf(JmxHttpMetrics.class, http.metrics());
+            assertEquals(1, metrics.getCalls());
+            assertEquals(0, metrics.getErrors());
+            assertNotNull(metrics.latency(server.base(), "GET"));
+            assertNotNull(metrics.phase(server.base(), HttpMetrics.Phase.CONNECT));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void httpsFactoryCanLayerOverProxyTunnel() throws Exception {
+        //通过代理访问https时，连接管理器要求 https 对应的工厂支持分层连接
+        try (UHttp http = UHttp.builder().build()) {
+            PoolingHttpClientConnectionManager connManager = (PoolingHttpClientConnectionManager) field(http, "connManager");
+            Object operator = field(connManager, "connectionOperator");
+            Lookup<ConnectionSocketFactory> registry = (Lookup<ConnectionSocketFactory>) field(operator, "socketFactoryRegistry");
+            assertInstanceOf(LayeredConnectionSocketFactory.class, registry.lookup("https"));
+        }
+    }
+
+    private static Object field(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
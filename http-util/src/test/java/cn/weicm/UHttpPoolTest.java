@@ -0,0 +1,99 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:51</p>
+ * <p>Desp: UHttp 实例独占长连接池：连接复用、实例隔离、失败类型</p>
+ */
+public class UHttpPoolTest {
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+        http = UHttp.builder().maxTotal(4).maxPerRoute(4).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void sequentialCallsReuseOneConnection() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("/ok", http.get(server.url("/ok")));
+        }
+        assertEquals(10, server.count("/ok"));
+        assertEquals(1, server.clientPorts().size());
+    }
+
+    @Test
+    public void concurrentCallsAreBoundedByPoolSize() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CompletableFuture<?>[] calls = new CompletableFuture<?>[64];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = CompletableFuture.runAsync(() -> http.get(server.url("/ok")), executor);
+            }
+            CompletableFuture.allOf(calls).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(64, server.count("/ok"));
+        assertTrue(server.clientPorts().size() <= 4, "connections: " + server.clientPorts().size());
+    }
+
+    @Test
+    public void paramsAreUrlEncoded() {
+        server.handle("/echo", exchange -> TestServer.respond(exchange, 200, exchange.getRequestURI().getRawQuery()));
+        assertEquals("q=a+b%26c", http.get(server.url("/echo"), Collections.singletonMap("q", "a b&c")));
+    }
+
+    @Test
+    public void closingOneInstanceLeavesOthersWorking() throws Exception {
+        UHttp other = UHttp.builder().build();
+        other.close();
+        assertEquals("/ok", http.get(server.url("/ok")));
+    }
+
+    @Test
+    public void singletonIsShared() {
+        assertSame(UHttp.getInstance(), UHttp.getInstance());
+    }
+
+    @Test
+    public void errorStatusThrowsTypedException() {
+        server.handle("/missing", exchange -> TestServer.respond(exchange, 404, "no"));
+        UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/missing")));
+        assertEquals(UHttpException.Kind.STATUS, e.getKind());
+        assertEquals(404, e.getStatusCode());
+    }
+
+    @Test
+    public void refusedConnectionThrowsConnect() throws Exception {
+        String url = server.url("/ok");
+        server.close();
+        UHttpException e = assertThrows(UHttpException.class, () -> http.get(url));
+        assertEquals(UHttpException.Kind.CONNECT, e.getKind());
+    }
+}
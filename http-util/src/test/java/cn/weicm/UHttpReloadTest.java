@@ -0,0 +1,106 @@
+package cn.weicm;
+
+import cn.weicm.http.CallOptions;
+import cn.weicm.http.HttpSettings;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:03</p>
+ * <p>Desp: UHttp 配置热更新：reload、派生实例共享配置、配置文件加载与监听</p>
+ */
+public class UHttpReloadTest {
+    private TestServer server;
+    private File confFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer().handle("/slow", exchange -> {
+            Thread.sleep(300);
+            TestServer.respond(exchange, 200, "slow");
+        });
+        //写到 test-classes 目录中，使其位于 classpath 下
+        File classes = new File(UHttpReloadTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        confFile = new File(classes, "uhttp-reload-test.properties");
+        Files.write(confFile.toPath(), "t.socketTimeout=100\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        confFile.delete();
+    }
+
+    @Test
+    public void reloadAppliesToRootAndDerivedInstances() throws Exception {
+        try (UHttp http = UHttp.builder().socketTimeout(100).build()) {
+            UHttp derived = http.with(CallOptions.create());
+            assertEquals(UHttpException.Kind.TIMEOUT,
+                    assertThrows(UHttpException.class, () -> derived.get(server.url("/slow"))).getKind());
+            derived.reload(new HttpSettings().socketTimeout(5000));
+            assertEquals(5000, http.settings().getSocketTimeout());
+            assertEquals("slow", derived.get(server.url("/slow")));
+        }
+    }
+
+    @Test
+    public void malformedPropertiesKeepSettings() throws Exception {
+        try (UHttp http = UHttp.builder().socketTimeout(1234).build()) {
+            Properties props = new Properties();
+            props.setProperty("socketTimeout", "x");
+            assertThrows(IllegalArgumentException.class, () -> http.reload(props, ""));
+            assertEquals(1234, http.settings().getSocketTimeout());
+        }
+    }
+
+    @Test
+    public void confLoadsFileAndRejectsMissingFile() throws Exception {
+        try (UHttp http = UHttp.builder().conf(confFile.getName(), "t.").build()) {
+            assertEquals(100, http.settings().getSocketTimeout());
+        }
+        RuntimeException e = assertThrows(RuntimeException.class, () -> UHttp.builder().conf("no-such-uhttp.properties", ""));
+        assertTrue(e.getMessage().contains("no-such-uhttp.properties"), e.getMessage());
+    }
+
+    @Test
+    public void watchReloadsChangedFileOnce() throws Exception {
+        try (UHttp http = UHttp.builder().socketTimeout(100).build()) {
+            http.watch(confFile.getName(), "t.", 50);
+            http.watch(confFile.getName(), "t.", 50);
+            http.with(CallOptions.create()).watch(confFile.getName(), "t.", 50);
+            assertEquals(1, watching(http));
+
+            Files.write(confFile.toPath(), "t.socketTimeout=4321\n".getBytes(StandardCharsets.UTF_8));
+            confFile.setLastModified(confFile.lastModified() + 2000);
+            long until = System.currentTimeMillis() + 5000;
+            while (http.settings().getSocketTimeout() != 4321 && System.currentTimeMillis() < until) {
+                Thread.sleep(20);
+            }
+            assertEquals(4321, http.settings().getSocketTimeout());
+            //其他键前缀单独监听
+            http.watch(confFile.getName(), "", 50);
+            assertEquals(2, watching(http));
+        }
+    }
+
+    private static int watching(UHttp http) throws Exception {
+        Field field = UHttp.class.getDeclaredField("watching");
+        field.setAccessible(true);
+        return ((Set<?>) field.get(http)).size();
+    }
+}
@@ -0,0 +1,150 @@
+package cn.weicm;
+
+import cn.weicm.http.CallOptions;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:59</p>
+ * <p>Desp: UHttp 重试、时间预算和对冲请求</p>
+ */
+public class UHttpRetryHedgeTest {
+    private TestServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * 第 n 次请求（从1开始）先等待 sleeps[n-1] 毫秒，再返回 statuses[n-1]，超出数组的请求按最后一个处理
+     */
+    private void script(long[] sleeps, int[] statuses) {
+        server.handle("/s", exchange -> {
+            int n = Math.min(calls.incrementAndGet(), sleeps.length) - 1;
+            Thread.sleep(sleeps[n]);
+            TestServer.respond(exchange, statuses[n], "call-" + (n + 1));
+        });
+    }
+
+    @Test
+    public void retryableStatusIsRetried() throws Exception {
+        script(new long[]{0, 0, 0}, new int[]{503, 502, 200});
+        try (UHttp http = UHttp.builder().retry(3, 10, 50).build()) {
+            assertEquals("call-3", http.get(server.url("/s")));
+        }
+        assertEquals(3, server.count("/s"));
+    }
+
+    @Test
+    public void clientErrorAndPostAreNotRetried() throws Exception {
+        script(new long[]{0}, new int[]{404});
+        try (UHttp http = UHttp.builder().retry(3, 10, 50).build()) {
+            assertEquals(404, assertThrows(UHttpException.class, () -> http.get(server.url("/s"))).getStatusCode());
+            assertEquals(1, server.count("/s"));
+            script(new long[]{0}, new int[]{503});
+            assertThrows(UHttpException.class, () -> http.post(server.url("/s"), "{}"));
+            assertEquals(2, server.count("/s"));
+        }
+    }
+
+    @Test
+    public void deadlineBoundsRetries() throws Exception {
+        script(new long[]{2000}, new int[]{200});
+        try (UHttp http = UHttp.builder().retry(5, 10, 50).deadline(300).build()) {
+            long start = System.currentTimeMillis();
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/s")));
+            assertEquals(UHttpException.Kind.DEADLINE, e.getKind());
+            assertTrue(System.currentTimeMillis() - start < 1500);
+            //按调用覆盖时间预算
+            calls.set(0);
+            script(new long[]{500}, new int[]{200});
+            assertEquals("call-1", http.with(CallOptions.create().deadline(3000)).get(server.url("/s")));
+        }
+    }
+
+    @Test
+    public void slowPrimaryIsHedged() throws Exception {
+        script(new long[]{1500, 0}, new int[]{200, 200});
+        try (UHttp http = UHttp.builder().hedge(50).build()) {
+            long start = System.currentTimeMillis();
+            assertEquals("call-2", http.get(server.url("/s")));
+            assertTrue(System.currentTimeMillis() - start < 1000);
+        }
+        assertEquals(2, server.count("/s"));
+    }
+
+    @Test
+    public void hedgeCanBeDisabledPerCall() throws Exception {
+        script(new long[]{200}, new int[]{200});
+        try (UHttp http = UHttp.builder().hedge(50).build()) {
+            assertEquals("call-1", http.with(CallOptions.create().hedge(false)).get(server.url("/s")));
+        }
+        assertEquals(1, server.count("/s"));
+    }
+
+    @Test
+    public void hedgeWithoutDeadlineWaitsForInFlightAttempts() throws Exception {
+        //读取超时为0（不限制）且没有时间预算时，对冲后应等待请求结束，而不是立即超时
+        script(new long[]{300, 300}, new int[]{200, 200});
+        try (UHttp http = UHttp.builder().socketTimeout(0).hedge(50).build()) {
+            assertEquals("call-1", http.get(server.url("/s")));
+        }
+    }
+
+    @Test
+    public void hedgeWaitIsBoundedByDeadline() throws Exception {
+        script(new long[]{2000, 2000}, new int[]{200, 200});
+        try (UHttp http = UHttp.builder().socketTimeout(0).hedge(50).deadline(400).build()) {
+            long start = System.currentTimeMillis();
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/s")));
+            assertTrue(UHttpException.Kind.DEADLINE == e.getKind() || UHttpException.Kind.TIMEOUT == e.getKind(),
+                    e.getKind().name());
+            assertTrue(System.currentTimeMillis() - start < 1500);
+        }
+    }
+
+    @Test
+    public void primaryFailureAfterHedgeWaitsForHedge() throws Exception {
+        script(new long[]{150, 400}, new int[]{500, 200});
+        try (UHttp http = UHttp.builder().hedge(50).build()) {
+            assertEquals("call-2", http.get(server.url("/s")));
+        }
+    }
+
+    @Test
+    public void primaryFailureNearHedgeLaunchNeverAbandonsRunningHedge() throws Exception {
+        //主请求的失败时间在对冲触发延迟附近抖动，无论先后，对冲请求发出后都应等待其应答
+        try (UHttp http = UHttp.builder().hedge(30).build()) {
+            for (int i = 0; i < 40; i++) {
+                calls.set(0);
+                script(new long[]{25 + i % 10, 100}, new int[]{500, 200});
+                int before = server.count("/s");
+                try {
+                    assertEquals("call-2", http.get(server.url("/s")));
+                } catch (UHttpException e) {
+                    //主请求在对冲前失败，此时不应发送对冲请求
+                    assertEquals(500, e.getStatusCode());
+                    Thread.sleep(150);
+                    assertEquals(before + 1, server.count("/s"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:57</p>
+ * <p>Desp: UHttp 请求合并：相同URL的并发GET只发送一次，不同请求头不合并，跟随者等待超时</p>
+ */
+public class UHttpSingleFlightTest {
+    private TestServer server;
+    private ExecutorService executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        release = new CountDownLatch(1);
+        server = new TestServer().handle("/slow", exchange -> {
+            release.await(10, TimeUnit.SECONDS);
+            TestServer.respond(exchange, 200, "shared");
+        });
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        server.close();
+    }
+
+    private List<CompletableFuture<String>> callConcurrently(UHttp http, int n, String header) throws Exception {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String value = null == header ? null : header + i;
+            calls.add(CompletableFuture.supplyAsync(() -> null == value
+                    ? http.get(server.url("/slow"))
+                    : http.get(server.url("/slow"), null, new BasicHeader("X-Id", value)), executor));
+        }
+        //让所有调用都到达后再放行应答
+        Thread.sleep(200);
+        release.countDown();
+        return calls;
+    }
+
+    @Test
+    public void concurrentGetsAreCoalesced() throws Exception {
+        try (UHttp http = UHttp.builder().singleFlight(10000).build()) {
+            for (CompletableFuture<String> call : callConcurrently(http, 6, null)) {
+                assertEquals("shared", call.get(10, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, server.count("/slow"));
+    }
+
+    @Test
+    public void differentHeadersAreNotCoalesced() throws Exception {
+        try (UHttp http = UHttp.builder().singleFlight(10000).build()) {
+            for (CompletableFuture<String> call : callConcurrently(http, 3, "id-")) {
+                assertEquals("shared", call.get(10, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(3, server.count("/slow"));
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        try (UHttp http = UHttp.builder().build()) {
+            for (CompletableFuture<String> call : callConcurrently(http, 3, null)) {
+                call.get(10, TimeUnit.SECONDS);
+            }
+        }
+        assertEquals(3, server.count("/slow"));
+    }
+
+    @Test
+    public void followerTimeoutIsTimeoutKind() throws Exception {
+        try (UHttp http = UHttp.builder().singleFlight(100).build()) {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> http.get(server.url("/slow")), executor);
+            Thread.sleep(100);
+            UHttpException e = assertThrows(UHttpException.class, () -> http.get(server.url("/slow")));
+            assertEquals(UHttpException.Kind.TIMEOUT, e.getKind());
+            release.countDown();
+            assertEquals("shared", leader.get(10, TimeUnit.SECONDS));
+            assertEquals(1, server.count("/slow"));
+        }
+    }
+}
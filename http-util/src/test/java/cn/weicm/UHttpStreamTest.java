@@ -0,0 +1,94 @@
+package cn.weicm;
+
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UHttpException;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:54</p>
+ * <p>Desp: UHttp 流式应答：输入流回调、写入文件、自定义应答处理器</p>
+ */
+public class UHttpStreamTest {
+    private static final int SIZE = 3 * 1024 * 1024 + 17;
+
+    private TestServer server;
+    private UHttp http;
+    private byte[] body;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        body = new byte[SIZE];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 251);
+        }
+        server = new TestServer().handle("/big", exchange -> TestServer.respond(exchange, 200, body));
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    public void streamHandlerReadsWholeBody() {
+        long count = http.getStream(server.url("/big"), null, in -> {
+            long n = 0;
+            byte[] buffer = new byte[8192];
+            for (int r; (r = in.read(buffer)) >= 0; ) {
+                n += r;
+            }
+            return n;
+        });
+        assertEquals(SIZE, count);
+    }
+
+    @Test
+    public void partialReadReleasesConnection() {
+        //只读一部分就返回，连接应被关闭或归还，后续请求不受影响
+        for (int i = 0; i < 3; i++) {
+            int first = http.getStream(server.url("/big"), null, in -> in.read());
+            assertEquals(0, first);
+        }
+        assertEquals("/ok", http.get(server.url("/ok")));
+    }
+
+    @Test
+    public void getToFileWritesExactBytes(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("body.bin");
+        Files.write(file, new byte[SIZE * 2]);
+        assertEquals(SIZE, http.getToFile(server.url("/big"), null, file).longValue());
+        assertArrayEquals(body, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void customResponseHandlerSeesResponse() {
+        String type = http.get(server.url("/big"), null, response -> {
+            EntityUtils.consume(response.getEntity());
+            return response.getFirstHeader("Content-Type").getValue();
+        });
+        assertEquals("text/plain; charset=UTF-8", type);
+    }
+
+    @Test
+    public void errorStatusIsNotStreamed() {
+        server.handle("/gone", exchange -> TestServer.respond(exchange, 410, "gone"));
+        UHttpException e = assertThrows(UHttpException.class,
+                () -> http.getStream(server.url("/gone"), null, in -> Arrays.toString(new byte[0])));
+        assertEquals(410, e.getStatusCode());
+    }
+}
@@ -0,0 +1,122 @@
+package cn.weicm;
+
+import cn.weicm.http.ProgressListener;
+import cn.weicm.http.TestServer;
+import cn.weicm.http.UploadPart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:54</p>
+ * <p>Desp: UHttp 上传：文件、流、缓冲区、文本部分的内容，定长与 chunked 传输，发送进度回调</p>
+ */
+public class UHttpUploadTest {
+    private TestServer server;
+    private UHttp http;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TestServer();
+        http = UHttp.builder().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        http.close();
+        server.close();
+    }
+
+    private String lastBody() {
+        return new String(server.lastBody(), StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder(s.length() * times);
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void knownLengthPartsAreSentWithContentLength(@TempDir Path dir) throws Exception {
+        String fileContent = repeat("file-line\n", 50000);
+        Path file = dir.resolve("a.txt");
+        Files.write(file, fileContent.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        direct.put("direct-buffer!!!".getBytes(StandardCharsets.US_ASCII)).flip();
+
+        List<UploadPart> parts = Arrays.asList(UploadPart.of("file", file),
+                UploadPart.of("buf", direct, "b.bin"),
+                UploadPart.text("name", "中文"));
+        http.upload(server.url("/up"), Collections.singletonMap("k", "v"), parts, null);
+
+        String body = lastBody();
+        assertTrue(body.contains(fileContent));
+        assertTrue(body.contains("filename=\"a.txt\""));
+        assertTrue(body.contains("direct-buffer!!!"));
+        assertTrue(body.contains("中文"));
+        assertEquals(String.valueOf(server.lastBody().length), server.lastHeaders().getFirst("Content-Length"));
+        assertNull(server.lastHeaders().getFirst("Transfer-Encoding"));
+        //发送不改变原缓冲区的位置
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void unknownLengthPartUsesChunked() {
+        byte[] data = repeat("stream", 1000).getBytes(StandardCharsets.US_ASCII);
+        http.upload(server.url("/up"), null,
+                Collections.singletonList(UploadPart.of("in", new ByteArrayInputStream(data), "in.bin")), null);
+        assertTrue(lastBody().contains(new String(data, StandardCharsets.US_ASCII)));
+        assertEquals("chunked", server.lastHeaders().getFirst("Transfer-Encoding"));
+    }
+
+    @Test
+    public void progressReachesTotal(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("p.bin");
+        Files.write(file, new byte[1024 * 1024]);
+        List<long[]> events = Collections.synchronizedList(new ArrayList<>());
+        ProgressListener listener = (sent, total) -> events.add(new long[]{sent, total});
+        http.upload(server.url("/up"), null, Collections.singletonList(UploadPart.of("f", file)), listener);
+
+        assertTrue(events.size() > 1);
+        long[] last = events.get(events.size() - 1);
+        assertEquals(server.lastBody().length, last[0]);
+        assertEquals(last[0], last[1]);
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i)[0] >= events.get(i - 1)[0]);
+        }
+    }
+
+    @Test
+    public void legacyAndAsyncUploadSendFiles(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("legacy.txt").toFile();
+        Files.write(file.toPath(), "legacy-content".getBytes(StandardCharsets.UTF_8));
+        http.upload(server.url("/up"), Collections.singletonMap("k", "值"), Collections.singletonList(file));
+        assertTrue(lastBody().contains("legacy-content"));
+        assertTrue(lastBody().contains("值"));
+
+        http.uploadAsync(server.url("/up"), null, Collections.singletonList(file)).get(10, TimeUnit.SECONDS);
+        assertTrue(lastBody().contains("legacy-content"));
+        assertEquals(2, server.count("/up"));
+    }
+}
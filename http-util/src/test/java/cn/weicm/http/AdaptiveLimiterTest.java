@@ -0,0 +1,93 @@
+package cn.weicm.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:10</p>
+ * <p>Desp: AdaptiveLimiter：加性增加、乘性减少、排队等待、只归还许可，以及按窗口更新的最小延迟</p>
+ */
+public class AdaptiveLimiterTest {
+
+    private static void call(AdaptiveLimiter limiter, long millis, boolean overloaded) throws Exception {
+        assertTrue(limiter.tryAcquire(0));
+        limiter.onResult(millis, overloaded);
+    }
+
+    @Test
+    public void saturatedSuccessIncreasesLimit() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterConfig.create().adaptive(2, 1, 3));
+        for (int round = 0; round < 10; round++) {
+            assertTrue(limiter.tryAcquire(0));
+            assertTrue(limiter.tryAcquire(0));
+            limiter.onResult(1, false);
+            limiter.onResult(1, false);
+        }
+        assertEquals(3, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void overloadDecreasesOncePerRtt() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterConfig.create().adaptive(10, 2, 100).backoffRatio(0.5));
+        call(limiter, 1000, true);
+        assertEquals(5, limiter.getLimit());
+        //同一批调用的后续过载信号被忽略
+        call(limiter, 1000, true);
+        call(limiter, 1000, true);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void fullLimitQueuesAndTimesOut() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterConfig.create().adaptive(1, 1, 1).queue(1, 1000));
+        assertTrue(limiter.tryAcquire(0));
+        assertFalse(limiter.tryAcquire(0));
+        assertFalse(limiter.tryAcquire(50));
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire(5000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (limiter.getWaiting() == 0) {
+            Thread.sleep(5);
+        }
+        limiter.release();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void minRttFollowsLongTermLatencyChange() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterConfig.create().adaptive(10, 1, 100)
+                .latencyTolerance(2).minRttWindow(50));
+        for (int i = 0; i < 20; i++) {
+            call(limiter, 10, false);
+        }
+        assertEquals(10, limiter.getLimit());
+        //后端延迟长期升高到100毫秒：最小延迟在两个窗口内更新，之后不再视为排队延迟
+        long until = System.currentTimeMillis() + 300;
+        while (System.currentTimeMillis() < until) {
+            call(limiter, 100, false);
+            Thread.sleep(2);
+        }
+        int settled = limiter.getLimit();
+        assertTrue(settled < 10);
+        until = System.currentTimeMillis() + 500;
+        while (System.currentTimeMillis() < until) {
+            call(limiter, 100, false);
+            Thread.sleep(2);
+        }
+        assertEquals(settled, limiter.getLimit());
+    }
+}
@@ -0,0 +1,221 @@
+package cn.weicm.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.Resource;
+import org.apache.http.impl.client.cache.FileResourceFactory;
+import org.apache.http.impl.client.cache.HeapResource;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:55</p>
+ * <p>Desp: BoundedCacheStorage 按条目数、字节数的LRU淘汰，替换和删除时的字节数统计</p>
+ */
+public class BoundedCacheStorageTest {
+
+    private static HttpCacheEntry entry(int size) {
+        Date now = new Date();
+        return new HttpCacheEntry(now, now, new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"),
+                new Header[0], new HeapResource(new byte[size]));
+    }
+
+    private static HttpCacheEntry entry(Resource resource) {
+        Date now = new Date();
+        return new HttpCacheEntry(now, now, new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"), new Header[0], resource);
+    }
+
+    private static Resource file(FileResourceFactory factory, String content) throws IOException {
+        return factory.generate("/" + content, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static String read(HttpCacheEntry entry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = entry.getResource().getInputStream()) {
+            byte[] buffer = new byte[256];
+            for (int n; (n = in.read(buffer)) >= 0; ) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static long fileCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedByCount() throws Exception {
+        BoundedCacheStorage storage = new BoundedCacheStorage(2, Long.MAX_VALUE);
+        storage.putEntry("a", entry(1));
+        storage.putEntry("b", entry(1));
+        storage.getEntry("a");
+        storage.putEntry("c", entry(1));
+        assertEquals(2, storage.size());
+        assertNotNull(storage.getEntry("a"));
+        assertNull(storage.getEntry("b"));
+    }
+
+    @Test
+    public void evictsByBytes() throws Exception {
+        BoundedCacheStorage storage = new BoundedCacheStorage(100, 250);
+        storage.putEntry("a", entry(100));
+        storage.putEntry("b", entry(100));
+        storage.putEntry("c", entry(100));
+        assertEquals(2, storage.size());
+        assertEquals(200, storage.bytes());
+        assertNull(storage.getEntry("a"));
+    }
+
+    @Test
+    public void replaceAndRemoveKeepBytesExact() throws Exception {
+        BoundedCacheStorage storage = new BoundedCacheStorage(10, 1000);
+        storage.putEntry("a", entry(100));
+        storage.putEntry("a", entry(30));
+        assertEquals(30, storage.bytes());
+        storage.updateEntry("a", existing -> entry(50));
+        assertEquals(50, storage.bytes());
+        storage.updateEntry("a", existing -> null);
+        assertEquals(0, storage.bytes());
+        storage.putEntry("b", entry(10));
+        storage.removeEntry("b");
+        assertEquals(0, storage.size());
+        assertEquals(0, storage.bytes());
+    }
+
+    @Test
+    public void evictedEntryStaysReadableWhileHeld(@TempDir Path dir) throws Exception {
+        FileResourceFactory factory = new FileResourceFactory(dir.toFile());
+        BoundedCacheStorage storage = new BoundedCacheStorage(1, Long.MAX_VALUE);
+        storage.putEntry("a", entry(file(factory, "body-a")));
+        //读取线程已取到条目，但还没有打开应答体
+        HttpCacheEntry held = storage.getEntry("a");
+        storage.putEntry("b", entry(file(factory, "body-b")));
+        storage.removeEntry("b");
+        storage.cleanResources();
+        assertNull(storage.getEntry("a"));
+        assertEquals("body-a", read(held));
+    }
+
+    @Test
+    public void concurrentEvictWhileReading(@TempDir Path dir) throws Exception {
+        FileResourceFactory factory = new FileResourceFactory(dir.toFile());
+        BoundedCacheStorage storage = new BoundedCacheStorage(2, Long.MAX_VALUE);
+        for (int i = 0; i < 2; i++) {
+            storage.putEntry("k" + i, entry(file(factory, "k" + i)));
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String key = "k" + (i % 4);
+                    storage.putEntry(key, entry(file(factory, key)));
+                }
+                stop.set(true);
+                return null;
+            });
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(pool.submit(() -> {
+                    int hits = 0;
+                    for (int i = 0; !stop.get(); i++) {
+                        String key = "k" + (i % 4);
+                        HttpCacheEntry entry = storage.getEntry(key);
+                        if (null != entry) {
+                            //让写线程有机会在打开应答体之前淘汰该条目
+                            Thread.yield();
+                            assertEquals(key, read(entry));
+                            hits++;
+                        }
+                    }
+                    return hits;
+                }));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+            int hits = 0;
+            for (Future<Integer> reader : readers) {
+                hits += reader.get(60, TimeUnit.SECONDS);
+            }
+            assertTrue(hits > 0);
+        } finally {
+            pool.shutdownNow();
+        }
+        storage.close();
+        assertEquals(0, fileCount(dir));
+    }
+
+    @Test
+    public void unreachableEvictedResourceIsDisposed(@TempDir Path dir) throws Exception {
+        FileResourceFactory factory = new FileResourceFactory(dir.toFile());
+        BoundedCacheStorage storage = new BoundedCacheStorage(1, Long.MAX_VALUE);
+        storage.putEntry("a", entry(file(factory, "body-a")));
+        storage.putEntry("b", entry(file(factory, "body-b")));
+        assertEquals(2, fileCount(dir));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (fileCount(dir) > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+            storage.cleanResources();
+        }
+        assertEquals(1, fileCount(dir));
+        assertEquals("body-b", read(storage.getEntry("b")));
+    }
+
+    @Test
+    public void sharedResourceIsKeptForReplacement(@TempDir Path dir) throws Exception {
+        FileResourceFactory factory = new FileResourceFactory(dir.toFile());
+        BoundedCacheStorage storage = new BoundedCacheStorage(10, Long.MAX_VALUE);
+        Resource resource = file(factory, "shared");
+        storage.putEntry("a", entry(resource));
+        //条目更新时新条目沿用原资源
+        storage.updateEntry("a", existing -> entry(existing.getResource()));
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+            storage.cleanResources();
+        }
+        assertEquals("shared", read(storage.getEntry("a")));
+        assertEquals(6, storage.bytes());
+    }
+
+    @Test
+    public void closeDisposesAllResources(@TempDir Path dir) throws Exception {
+        FileResourceFactory factory = new FileResourceFactory(dir.toFile());
+        BoundedCacheStorage storage = new BoundedCacheStorage(10, Long.MAX_VALUE);
+        storage.putEntry("a", entry(file(factory, "a")));
+        storage.putEntry("b", entry(file(factory, "b")));
+        storage.close();
+        assertEquals(0, fileCount(dir));
+        assertEquals(0, storage.bytes());
+        assertThrows(IllegalStateException.class, () -> storage.getEntry("a"));
+    }
+}
@@ -0,0 +1,131 @@
+package cn.weicm.http;
+
+import org.apache.http.conn.DnsResolver;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:13</p>
+ * <p>Desp: CachingDnsResolver：缓存命中与过期、失败结果缓存、后台刷新、多地址选择策略</p>
+ */
+public class CachingDnsResolverTest {
+    private static final InetAddress[] ADDRESSES = new InetAddress[3];
+
+    static {
+        try {
+            for (int i = 0; i < ADDRESSES.length; i++) {
+                ADDRESSES[i] = InetAddress.getByAddress("svc", new byte[]{10, 0, 0, (byte) (i + 1)});
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 计数的解析器，host 为 missing 时解析失败
+     */
+    private static class CountingResolver implements DnsResolver {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            lookups.incrementAndGet();
+            if ("missing".equals(host)) {
+                throw new UnknownHostException(host);
+            }
+            return ADDRESSES.clone();
+        }
+    }
+
+    @Test
+    public void cachesUntilTtlExpires() throws Exception {
+        CountingResolver delegate = new CountingResolver();
+        try (CachingDnsResolver resolver = new CachingDnsResolver(delegate,
+                DnsConfig.create().ttl(100, 0).refreshAhead(1).balance(DnsConfig.Balance.ORDERED))) {
+            assertArrayEquals(ADDRESSES, resolver.resolve("svc"));
+            assertArrayEquals(ADDRESSES, resolver.resolve("svc"));
+            assertEquals(1, delegate.lookups.get());
+            assertEquals(1, resolver.getHits());
+            Thread.sleep(150);
+            resolver.resolve("svc");
+            assertEquals(2, delegate.lookups.get());
+            resolver.invalidate("svc");
+            resolver.resolve("svc");
+            assertEquals(3, delegate.lookups.get());
+            assertEquals(3, resolver.getMisses());
+        }
+    }
+
+    @Test
+    public void negativeResultsAreCachedOnlyWhenConfigured() throws Exception {
+        CountingResolver delegate = new CountingResolver();
+        try (CachingDnsResolver resolver = new CachingDnsResolver(delegate, DnsConfig.create().ttl(60000, 0))) {
+            assertThrows(UnknownHostException.class, () -> resolver.resolve("missing"));
+            assertThrows(UnknownHostException.class, () -> resolver.resolve("missing"));
+            assertEquals(2, delegate.lookups.get());
+        }
+        delegate = new CountingResolver();
+        try (CachingDnsResolver resolver = new CachingDnsResolver(delegate, DnsConfig.create().ttl(60000, 60000))) {
+            assertThrows(UnknownHostException.class, () -> resolver.resolve("missing"));
+            assertThrows(UnknownHostException.class, () -> resolver.resolve("missing"));
+            assertEquals(1, delegate.lookups.get());
+        }
+    }
+
+    @Test
+    public void refreshesAheadInBackground() throws Exception {
+        CountingResolver delegate = new CountingResolver();
+        try (CachingDnsResolver resolver = new CachingDnsResolver(delegate, DnsConfig.create().ttl(200, 0).refreshAhead(0.25))) {
+            resolver.resolve("svc");
+            Thread.sleep(80);
+            resolver.resolve("svc");
+            long until = System.currentTimeMillis() + 2000;
+            while (resolver.getRefreshes() == 0 && System.currentTimeMillis() < until) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, resolver.getRefreshes());
+            assertEquals(2, delegate.lookups.get());
+            assertEquals(1, resolver.getMisses());
+        }
+    }
+
+    @Test
+    public void roundRobinRotatesFirstAddress() throws Exception {
+        try (CachingDnsResolver resolver = new CachingDnsResolver(new CountingResolver(), DnsConfig.create())) {
+            Set<InetAddress> firsts = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                InetAddress[] addresses = resolver.resolve("svc");
+                assertEquals(new HashSet<>(Arrays.asList(ADDRESSES)), new HashSet<>(Arrays.asList(addresses)));
+                firsts.add(addresses[0]);
+            }
+            assertEquals(3, firsts.size());
+        }
+    }
+
+    @Test
+    public void leastInFlightPrefersIdleAddress() throws Exception {
+        try (CachingDnsResolver resolver = new CachingDnsResolver(new CountingResolver(),
+                DnsConfig.create().balance(DnsConfig.Balance.LEAST_IN_FLIGHT))) {
+            resolver.begin(ADDRESSES[0]);
+            resolver.begin(ADDRESSES[1]);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(ADDRESSES[2], resolver.resolve("svc")[0]);
+            }
+            resolver.end(ADDRESSES[0]);
+            resolver.end(ADDRESSES[1]);
+            assertTrue(resolver.getInFlight(ADDRESSES[0]) == 0 && resolver.getInFlight(ADDRESSES[1]) == 0);
+        }
+    }
+}
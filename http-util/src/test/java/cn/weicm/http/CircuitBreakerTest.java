@@ -0,0 +1,78 @@
+package cn.weicm.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:01</p>
+ * <p>Desp: CircuitBreaker 状态转换：失败率、慢调用率熔断，半开探测恢复或重新熔断</p>
+ */
+public class CircuitBreakerTest {
+
+    private static CircuitBreaker breaker(long openDuration) {
+        return new CircuitBreaker(CircuitBreakerConfig.create().windowSize(10).minimumCalls(4)
+                .failureRateThreshold(50).slowCallRateThreshold(100).slowCallDuration(100)
+                .openDuration(openDuration).halfOpenCalls(2));
+    }
+
+    private static void call(CircuitBreaker breaker, long millis, boolean failure) {
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(millis, failure);
+    }
+
+    @Test
+    public void opensWhenFailureRateReached() {
+        CircuitBreaker breaker = breaker(10000);
+        call(breaker, 1, true);
+        call(breaker, 1, true);
+        call(breaker, 1, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        call(breaker, 1, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void successesKeepItClosed() {
+        CircuitBreaker breaker = breaker(10000);
+        for (int i = 0; i < 50; i++) {
+            call(breaker, 1, i % 4 == 1);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void opensWhenAllCallsAreSlow() {
+        CircuitBreaker breaker = breaker(10000);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, 150, false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenProbesCloseOrReopen() throws Exception {
+        CircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, 1, true);
+        }
+        Thread.sleep(80);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        //探测次数已用完
+        assertFalse(breaker.tryAcquire());
+        breaker.onResult(1, false);
+        breaker.onResult(1, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+        call(breaker, 1, false);
+        call(breaker, 1, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
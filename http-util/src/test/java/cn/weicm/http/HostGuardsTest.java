@@ -0,0 +1,90 @@
+package cn.weicm.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:08</p>
+ * <p>Desp: HostGuards：主机截取、许可获取失败时回滚已获取的许可</p>
+ */
+public class HostGuardsTest {
+    private static final String HOST = "http://h:80";
+    private static final String URL = HOST + "/p";
+
+    @Test
+    public void hostOfKeepsSchemeHostAndPort() {
+        assertEquals("http://h:80", HostGuards.hostOf("http://h:80/a/b?c=d"));
+        assertEquals("https://h", HostGuards.hostOf("https://h?x#y"));
+        assertEquals("h:1", HostGuards.hostOf("h:1/p"));
+    }
+
+    @Test
+    public void rollbackDoesNotRecordFakeLatency() {
+        //舱壁已满导致回滚时，自适应并发限制器只归还许可，不记录0毫秒的延迟样本
+        HostGuards guards = new HostGuards(null, 1, 0, LimiterConfig.create().adaptive(10, 1, 100).latencyTolerance(2));
+        AdaptiveLimiter limiter = guards.adaptiveLimiter(HOST);
+        guards.acquire(HOST, URL, false).release(100, false, false);
+
+        HostGuards.Permit held = guards.acquire(HOST, URL, false);
+        UHttpException e = assertThrows(UHttpException.class, () -> guards.acquire(HOST, URL, false));
+        assertEquals(UHttpException.Kind.BULKHEAD_FULL, e.getKind());
+        assertEquals(1, limiter.getInFlight());
+        held.release(100, false, false);
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, guards.bulkhead(HOST).active());
+    }
+
+    @Test
+    public void openBreakerReleasesLimiterAndBulkhead() {
+        CircuitBreakerConfig breaker = CircuitBreakerConfig.create().windowSize(2).minimumCalls(1).openDuration(60000);
+        HostGuards guards = new HostGuards(breaker, 2, 0, LimiterConfig.create().adaptive(10, 1, 100));
+        guards.acquire(HOST, URL, false).release(1, true, false);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(UHttpException.Kind.CIRCUIT_OPEN,
+                    assertThrows(UHttpException.class, () -> guards.acquire(HOST, URL, false)).getKind());
+        }
+        assertEquals(0, guards.adaptiveLimiter(HOST).getInFlight());
+        assertEquals(0, guards.bulkhead(HOST).active());
+    }
+
+    @Test
+    public void openBreakerFailsBeforeWaitingForRateToken() {
+        //每秒1个令牌，等待上限5秒；熔断中的调用不应等待令牌
+        CircuitBreakerConfig breaker = CircuitBreakerConfig.create().windowSize(2).minimumCalls(1).openDuration(60000);
+        HostGuards guards = new HostGuards(breaker, 0, 0, LimiterConfig.create().rate(1, 1).queue(10, 5000));
+        guards.acquire(HOST, URL, true).release(1, true, false);
+        assertEquals(CircuitBreaker.State.OPEN, guards.breaker(HOST).getState());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(UHttpException.Kind.CIRCUIT_OPEN,
+                    assertThrows(UHttpException.class, () -> guards.acquire(HOST, URL, true)).getKind());
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        assertTrue(millis < 500, "took " + millis + "ms");
+    }
+
+    @Test
+    public void failedAcquireReturnsHalfOpenTrial() throws Exception {
+        CircuitBreakerConfig config = CircuitBreakerConfig.create().windowSize(2).minimumCalls(1).openDuration(50).halfOpenCalls(1);
+        HostGuards guards = new HostGuards(config, 1, 0, null);
+        HostGuards.Permit held = guards.acquire(HOST, URL, false);
+        CircuitBreaker breaker = guards.breaker(HOST);
+        breaker.onResult(1, true);
+        Thread.sleep(80);
+
+        //半开的唯一探测名额被放行后，舱壁已满导致失败，名额应被归还
+        assertEquals(UHttpException.Kind.BULKHEAD_FULL,
+                assertThrows(UHttpException.class, () -> guards.acquire(HOST, URL, false)).getKind());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        held.release(1, false, false);
+    }
+}
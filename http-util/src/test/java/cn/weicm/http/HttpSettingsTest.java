@@ -0,0 +1,62 @@
+package cn.weicm.http;
+
+import org.apache.http.client.config.RequestConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:03</p>
+ * <p>Desp: HttpSettings：按键前缀合并属性、格式错误时报错、按调用配置和剩余预算构建请求配置</p>
+ */
+public class HttpSettingsTest {
+
+    @Test
+    public void mergeOverridesOnlyPresentKeys() {
+        HttpSettings base = new HttpSettings().connectTimeout(1000).socketTimeout(2000).maxTotal(10);
+        Properties props = new Properties();
+        props.setProperty("uhttp.socketTimeout", " 3000 ");
+        props.setProperty("uhttp.pool.maxTotal", "20");
+        props.setProperty("uhttp.compression", "false");
+        props.setProperty("socketTimeout", "9999");
+        HttpSettings merged = base.merge(props, "uhttp.");
+        assertEquals(1000, merged.getConnectTimeout());
+        assertEquals(3000, merged.getSocketTimeout());
+        assertEquals(20, merged.getMaxTotal());
+        assertFalse(merged.isCompression());
+        //原配置不变
+        assertEquals(2000, base.getSocketTimeout());
+        assertEquals(10, base.getMaxTotal());
+    }
+
+    @Test
+    public void mergeRejectsMalformedValues() {
+        Properties props = new Properties();
+        props.setProperty("socketTimeout", "abc");
+        assertThrows(IllegalArgumentException.class, () -> new HttpSettings().merge(props, ""));
+    }
+
+    @Test
+    public void requestConfigPrefersCallOptionsAndBudget() {
+        HttpSettings settings = new HttpSettings().connectTimeout(1000).socketTimeout(5000).compression(true);
+        RequestConfig config = settings.requestConfig(CallOptions.create().socketTimeout(8000).compression(false), 0);
+        assertEquals(1000, config.getConnectTimeout());
+        assertEquals(8000, config.getSocketTimeout());
+        assertFalse(config.isContentCompressionEnabled());
+        assertNull(config.getProxy());
+
+        config = settings.proxy("proxy.local", 3128, null).requestConfig(CallOptions.create(), 300);
+        assertEquals(300, config.getConnectTimeout());
+        assertEquals(300, config.getSocketTimeout());
+        assertTrue(config.isContentCompressionEnabled());
+        assertEquals("proxy.local", config.getProxy().getHostName());
+        assertEquals(3128, config.getProxy().getPort());
+    }
+}
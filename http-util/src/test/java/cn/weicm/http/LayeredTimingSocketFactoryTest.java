@@ -0,0 +1,66 @@
+package cn.weicm.http;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:12</p>
+ * <p>Desp: LayeredTimingSocketFactory：分层连接委托给原工厂，隧道上的TLS握手计入建立连接阶段</p>
+ */
+public class LayeredTimingSocketFactoryTest {
+
+    @Test
+    public void delegatesAndRecordsConnectPhase() throws Exception {
+        Socket plain = new Socket();
+        Socket layered = new Socket();
+        List<String> calls = new ArrayList<>();
+        LayeredConnectionSocketFactory delegate = new LayeredConnectionSocketFactory() {
+            @Override
+            public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) {
+                calls.add("layered " + target + ":" + port);
+                return layered;
+            }
+
+            @Override
+            public Socket createSocket(HttpContext context) {
+                return plain;
+            }
+
+            @Override
+            public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                        InetSocketAddress localAddress, HttpContext context) {
+                calls.add("connect " + host.toURI());
+                return sock;
+            }
+        };
+        List<String> phases = new ArrayList<>();
+        HttpMetrics metrics = new HttpMetrics() {
+            @Override
+            public void recordPhase(String host, Phase phase, long nanos) {
+                phases.add(host + " " + phase);
+            }
+        };
+        LayeredTimingSocketFactory factory = new LayeredTimingSocketFactory(delegate, metrics);
+        HttpContext context = new BasicHttpContext();
+        assertSame(plain, factory.createSocket(context));
+        factory.connectSocket(1000, plain, new HttpHost("proxy", 3128), new InetSocketAddress(0), null, context);
+        assertSame(layered, factory.createLayeredSocket(plain, "secure.example", 443, context));
+
+        assertEquals("[connect http://proxy:3128, layered secure.example:443]", calls.toString());
+        assertEquals("[http://proxy:3128 CONNECT, https://secure.example:443 CONNECT]", phases.toString());
+        plain.close();
+        layered.close();
+    }
+}
@@ -0,0 +1,60 @@
+package cn.weicm.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:08</p>
+ * <p>Desp: RateLimiter：突发容量、按速率等待、等待时间不足或排队已满时拒绝</p>
+ */
+public class RateLimiterTest {
+
+    @Test
+    public void burstThenReject() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 3, 10);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(0));
+        }
+        assertFalse(limiter.tryAcquire(0));
+        assertFalse(limiter.tryAcquire(100));
+    }
+
+    @Test
+    public void waitsForNextToken() throws Exception {
+        RateLimiter limiter = new RateLimiter(20, 1, 10);
+        assertTrue(limiter.tryAcquire(0));
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire(1000));
+        assertTrue(limiter.tryAcquire(1000));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        //两个令牌约需100毫秒
+        assertTrue(elapsedMillis >= 80, "elapsed: " + elapsedMillis);
+        assertEquals(0, limiter.waiting());
+    }
+
+    @Test
+    public void fullQueueRejects() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 1, 0);
+        assertTrue(limiter.tryAcquire(0));
+        assertFalse(limiter.tryAcquire(5000));
+    }
+
+    @Test
+    public void interruptedWaitReturnsToken() throws Exception {
+        RateLimiter limiter = new RateLimiter(2, 1, 10);
+        assertTrue(limiter.tryAcquire(0));
+        Thread.currentThread().interrupt();
+        try {
+            limiter.tryAcquire(5000);
+        } catch (InterruptedException expected) {
+            //预占的令牌已归还
+        }
+        assertEquals(0, limiter.waiting());
+        Thread.sleep(600);
+        assertTrue(limiter.tryAcquire(0));
+    }
+}
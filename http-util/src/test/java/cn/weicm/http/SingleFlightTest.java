@@ -0,0 +1,138 @@
+package cn.weicm.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:57</p>
+ * <p>Desp: SingleFlight：并发合并、异常共享、等待超时、执行结束后移除键</p>
+ */
+public class SingleFlightTest {
+
+    /**
+     * 等待线程都进入限时等待，即在等待其他调用的执行结果
+     */
+    private static void awaitWaiting(Collection<Thread> threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            boolean waiting = true;
+            for (Thread thread : threads) {
+                waiting &= Thread.State.TIMED_WAITING == thread.getState();
+            }
+            if (waiting) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Threads are not waiting: " + threads);
+    }
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return runs.incrementAndGet();
+            }, 10000));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            List<Future<Integer>> followers = new ArrayList<>();
+            Set<Thread> followerThreads = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> {
+                    followerThreads.add(Thread.currentThread());
+                    return flight.execute("k", runs::incrementAndGet, 10000);
+                }));
+            }
+            //等待跟随者都进入等待后再放行
+            while (followerThreads.size() < 7) {
+                Thread.sleep(5);
+            }
+            awaitWaiting(followerThreads);
+            release.countDown();
+            assertEquals(1, leader.get(10, TimeUnit.SECONDS).intValue());
+            for (Future<Integer> follower : followers) {
+                assertEquals(1, follower.get(10, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void failureIsSharedAndKeyIsRemoved() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IOException failure = new IOException("boom");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Thread caller = Thread.currentThread();
+        try {
+            executor.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                throw failure;
+            }, 10000));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            executor.submit(() -> {
+                awaitWaiting(Collections.singleton(caller));
+                release.countDown();
+                return null;
+            });
+        } finally {
+            executor.shutdown();
+        }
+        Exception e = assertThrows(Exception.class, () -> flight.execute("k", () -> "own", 10000));
+        assertSame(failure, e);
+        assertEquals("again", flight.execute("k", () -> "again", 10000));
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void followerTimesOut() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return "late";
+            }, 10000));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertThrows(TimeoutException.class, () -> flight.execute("k", () -> "own", 50));
+            assertEquals("other", flight.execute("other", () -> "other", 50));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
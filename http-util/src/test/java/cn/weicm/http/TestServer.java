@@ -0,0 +1,152 @@
+package cn.weicm.http;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:51</p>
+ * <p>Desp: 测试用的本地HTTP服务：基于JDK内置的 HttpServer，按路径注册处理器，记录请求次数、客户端端口和最近一次请求</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 未注册的路径返回 200 和请求路径</p>
+ */
+public class TestServer implements Closeable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    //发起请求的客户端端口，用于判断连接是否复用
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile Headers lastHeaders;
+    private volatile byte[] lastBody;
+
+    static {
+        //JDK HttpServer 默认未开启 TCP_NODELAY，保持连接时每次调用多出约40毫秒
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public TestServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        executor = Executors.newCachedThreadPool(new DaemonThreadFactory("TestServer-"));
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    public TestServer handle(String path, Handler handler) {
+        handlers.put(path, handler);
+        return this;
+    }
+
+    public String url(String path) {
+        return base() + path;
+    }
+
+    /**
+     * @return 形如 http://127.0.0.1:端口 的地址
+     */
+    public String base() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int count(String path) {
+        AtomicInteger count = counts.get(path);
+        return null == count ? 0 : count.get();
+    }
+
+    public Set<Integer> clientPorts() {
+        return clientPorts;
+    }
+
+    public Headers lastHeaders() {
+        return lastHeaders;
+    }
+
+    public byte[] lastBody() {
+        return lastBody;
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        counts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        lastHeaders = exchange.getRequestHeaders();
+        try {
+            lastBody = readBody(exchange);
+            Handler handler = handlers.get(path);
+            if (null == handler) {
+                respond(exchange, 200, path);
+            } else {
+                handler.handle(exchange);
+            }
+        } catch (Exception e) {
+            respond(exchange, 500, String.valueOf(e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            for (int n; (n = in.read(buffer)) >= 0; ) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static void respond(HttpExchange exchange, int status, String body, String... headers) throws IOException {
+        respond(exchange, status, body.getBytes(StandardCharsets.UTF_8), headers);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:51</p>
+     * <p>Desp: 写出应答</p>
+     * @param headers 应答头，按 名称、值 交替排列
+     */
+    public static void respond(HttpExchange exchange, int status, byte[] body, String... headers) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            exchange.getResponseHeaders().set(headers[i], headers[i + 1]);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * 请求处理器，请求体已被读取，见 lastBody
+     */
+    public interface Handler {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+}
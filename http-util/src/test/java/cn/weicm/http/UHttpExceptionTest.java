@@ -0,0 +1,71 @@
+package cn.weicm.http;
+
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:00</p>
+ * <p>Desp: UHttpException：I/O异常分类、可重试/过载/服务端失败判断、序列化</p>
+ */
+public class UHttpExceptionTest {
+
+    @Test
+    public void classifiesIoExceptions() {
+        assertEquals(UHttpException.Kind.STATUS, UHttpException.of("u", new HttpResponseException(503, "x")).getKind());
+        assertEquals(UHttpException.Kind.TIMEOUT, UHttpException.of("u", new SocketTimeoutException()).getKind());
+        assertEquals(UHttpException.Kind.TIMEOUT, UHttpException.of("u", new ConnectTimeoutException()).getKind());
+        assertEquals(UHttpException.Kind.CONNECT, UHttpException.of("u", new ConnectException()).getKind());
+        assertEquals(UHttpException.Kind.UNKNOWN_HOST, UHttpException.of("u", new UnknownHostException()).getKind());
+        assertEquals(UHttpException.Kind.IO, UHttpException.of("u", new IOException()).getKind());
+    }
+
+    @Test
+    public void retryOverloadAndServerFailure() {
+        UHttpException unavailable = UHttpException.of("u", new HttpResponseException(503, "x"));
+        assertTrue(unavailable.isRetryable());
+        assertTrue(unavailable.isOverload());
+        assertTrue(unavailable.isServerFailure());
+
+        UHttpException notFound = UHttpException.of("u", new HttpResponseException(404, "x"));
+        assertFalse(notFound.isRetryable());
+        assertFalse(notFound.isOverload());
+        assertFalse(notFound.isServerFailure());
+
+        UHttpException internal = UHttpException.of("u", new HttpResponseException(500, "x"));
+        assertFalse(internal.isRetryable());
+        assertTrue(internal.isServerFailure());
+    }
+
+    @Test
+    public void serializesWithStableVersion() throws Exception {
+        assertEquals(1L, ObjectStreamClass.lookup(UHttpException.class).getSerialVersionUID());
+        UHttpException e = new UHttpException(UHttpException.Kind.STATUS, "http://h/p", 429, "Status 429!", null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(e);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            UHttpException copy = (UHttpException) in.readObject();
+            assertEquals(UHttpException.Kind.STATUS, copy.getKind());
+            assertEquals(429, copy.getStatusCode());
+            assertEquals("http://h/p", copy.getUrl());
+            assertEquals(e.getMessage(), copy.getMessage());
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package cn.weicm;
 
+import cn.weicm.json.JsonArrayIterator;
+import cn.weicm.json.JsonCodec;
+import cn.weicm.json.JsonExtractor;
+import cn.weicm.json.JsonFormatter;
+import cn.weicm.json.JsonLines;
+import cn.weicm.json.JsonValidator;
+import cn.weicm.json.PathCache;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.TypeRef;
-import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonProvider;
-import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * <p>Author: weicm</p>
@@ -23,16 +42,24 @@ import java.util.*;
  * <p>Desp: 依赖于Jackson 和 JsonPath 的 json 处理工具；线程安全；</p>
  */
 public class UJson {
+    //默认编解码实例：忽略null属性、忽略未知属性
+    private static final JsonCodec CODEC = JsonCodec.builder()
+            .inclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .build();
+    //共享的 ObjectMapper，即默认编解码实例持有的；线程安全，不要修改其配置
+    private static final ObjectMapper MAPPER = CODEC.mapper();
+    //编译后的 path 表达式缓存，所有按字符串表达式解析的方法共用
+    private static final PathCache PATHS = new PathCache(1024);
+    private static final JsonLines LINES = new JsonLines(MAPPER);
+    private static final JsonValidator VALIDATOR = JsonValidator.create();
+    private static final JsonFormatter FORMATTER = JsonFormatter.create();
+
     static {
         //设置默认解析器为Jackson
         Configuration.setDefaults(new Configuration.Defaults() {
-            private final JsonProvider jsonProvider = new JacksonJsonProvider(
-                    new ObjectMapper()
-                            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
-            private final MappingProvider mappingProvider = new JacksonMappingProvider(new ObjectMapper()
-                    .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+            private final JsonProvider jsonProvider = CODEC.configuration().jsonProvider();
+            private final MappingProvider mappingProvider = CODEC.configuration().mappingProvider();
 
             @Override
             public JsonProvider jsonProvider() {
@@ -54,13 +81,121 @@ public class UJson {
         });
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:05</p>
+     * <p>Desp: 获取 UJson 共享的 ObjectMapper，与 parse/str 使用相同的配置</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：直接在输入输出流上序列化、反序列化，避免生成中间字符串</p>
+     * @return 共享的 ObjectMapper，不要修改其配置
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 获取 UJson 的默认编解码实例，str 等方法经由它直接序列化</p>
+     * @return 默认编解码实例
+     */
+    public static JsonCodec codec() {
+        return CODEC;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 创建独立配置的编解码实例的构造器，可注册模块、开关特性，不影响 UJson 的默认配置</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：需要 JavaTime 等模块或不同的序列化规则时，构建一个实例长期持有</p>
+     * @return 编解码实例构造器
+     */
+    public static JsonCodec.Builder builder() {
+        return JsonCodec.builder();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:05</p>
+     * <p>Desp: 将 JsonPath 的泛型引用转换为 Jackson 的类型</p>
+     * @param type 泛型引用对象
+     * @return Jackson 类型
+     */
+    public static JavaType type(TypeRef<?> type) {
+        return MAPPER.getTypeFactory().constructType(type.getType());
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:26</p>
+     * <p>Desp: 获取编译后的 path 表达式，结果来自缓存</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：热点循环中反复使用同一表达式时预先编译并持有，配合 parse(..., JsonPath path, ...) 使用，省去每次查询缓存</p>
+     * @param path path表达式
+     * @return 编译后的 JsonPath，线程安全
+     */
+    public static JsonPath path(String path) {
+        return PATHS.get(path);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:26</p>
+     * <p>Desp: 获取 path 表达式缓存，用于查看命中率</p>
+     * @return path 表达式缓存
+     */
+    public static PathCache pathCache() {
+        return PATHS;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 判断字符串是否为json对象或数组，流式校验，不生成对象</p>
+     *
+     * @param jsonStr json字符串
+     * @return 是否为json对象或数组
+     */
     public static Boolean isValid(String jsonStr) {
-        try {
-            Object o = JsonPath.parse(jsonStr).json();
-            return o instanceof List || o instanceof Map;
-        } catch (Exception e) {
-            return false;
-        }
+        return VALIDATOR.validate(jsonStr).isValid();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:34</p>
+     * <p>Desp: 判断字节数组是否为json对象或数组，直接校验UTF-8字节，不先转换为字符串</p>
+     *
+     * @param json UTF-8/UTF-16/UTF-32 编码的json字节
+     * @return 是否为json对象或数组
+     */
+    public static Boolean isValid(byte[] json) {
+        return VALIDATOR.validate(json).isValid();
+    }
+
+    public static Boolean isValid(byte[] json, int offset, int length) {
+        return VALIDATOR.validate(json, offset, length).isValid();
+    }
+
+    public static Boolean isValid(ByteBuffer json) {
+        return VALIDATOR.validate(json).isValid();
+    }
+
+    public static Boolean isValid(InputStream json) {
+        return VALIDATOR.validate(json).isValid();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 校验是否为json对象或数组，不合法时返回出错位置和原因；需要限制深度和大小时使用 JsonValidator.create() 创建校验器</p>
+     *
+     * @param json json字符串
+     * @return 校验结果
+     */
+    public static JsonValidator.Result validate(String json) {
+        return VALIDATOR.validate(json);
+    }
+
+    public static JsonValidator.Result validate(byte[] json) {
+        return VALIDATOR.validate(json);
     }
     /**
      * <p>Author: weicm</p>
@@ -75,6 +210,10 @@ public class UJson {
      * @return 解析结果
      */
     public static <T> T parse(String json, String path, Class<T> clazz) {
+        return parse(json, PATHS.get(path), clazz);
+    }
+
+    public static <T> T parse(String json, JsonPath path, Class<T> clazz) {
         if (null == json || "".equals(json.trim())) {
             return null;
         }
@@ -98,6 +237,10 @@ public class UJson {
      * @return 解析结果
      */
     public static <T> T parse(String json, String path, TypeRef<T> type) {
+        return parse(json, PATHS.get(path), type);
+    }
+
+    public static <T> T parse(String json, JsonPath path, TypeRef<T> type) {
         if (null == json || "".equals(json.trim())) {
             return null;
         }
@@ -108,19 +251,103 @@ public class UJson {
         return parse(json, "$", type);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:34</p>
+     * <p>Desp: 从字节根据指定path表达式和类型解析数据，不先转换为字符串</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 只需要数组的一部分时，使用 ByteBuffer.wrap(bytes, offset, length) 调用 ByteBuffer 的重载</p>
+     *
+     * @param json  UTF-8/UTF-16/UTF-32 编码的json字节
+     * @param path  path表达式
+     * @param clazz 结果字节码类对象
+     * @param <T>   结果泛型
+     * @return 解析结果，没有内容时返回null
+     */
+    public static <T> T parse(byte[] json, String path, Class<T> clazz) {
+        return read(compile(json), path, clazz);
+    }
+
+    public static <T> T parse(byte[] json, String path, TypeRef<T> type) {
+        return read(compile(json), path, type);
+    }
+
+    public static <T> T parse(ByteBuffer json, String path, Class<T> clazz) {
+        return read(compile(json), path, clazz);
+    }
+
+    public static <T> T parse(ByteBuffer json, String path, TypeRef<T> type) {
+        return read(compile(json), path, type);
+    }
+
+    public static <T> T parse(InputStream json, String path, Class<T> clazz) {
+        return read(compile(json), path, clazz);
+    }
+
+    public static <T> T parse(InputStream json, String path, TypeRef<T> type) {
+        return read(compile(json), path, type);
+    }
+
+    private static <T> T read(Object doc, String path, Class<T> clazz) {
+        return null == doc ? null : JsonPath.parse(doc).read(PATHS.get(path), clazz);
+    }
+
+    private static <T> T read(Object doc, String path, TypeRef<T> type) {
+        return null == doc ? null : JsonPath.parse(doc).read(PATHS.get(path), type);
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/1/26 14:00</p>
-     * <p>Desp: 将对象转换为json字符串</p>
+     * <p>Desp: 将对象转换为json字符串，使用按类型缓存的 ObjectWriter 直接序列化</p>
      *
      * @param o 对象
      * @return json字符串
      */
     public static String str(Object o) {
-        if (null == o) {
-            return null;
-        }
-        return JsonPath.parse(o).jsonString();
+        return CODEC.str(o);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象转换为UTF-8编码的json字节，不经过字符串</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：结果要作为请求体发送或写入文件，省去生成字符串再编码的开销</p>
+     *
+     * @param o 对象
+     * @return json字节，对象为null时返回null
+     */
+    public static byte[] bytes(Object o) {
+        return CODEC.bytes(o);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象以UTF-8直接序列化到输出流，不在堆中生成完整的json</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：大对象作为应答写入 socket 或文件</p>
+     *
+     * @param o   对象，为null时写入 null
+     * @param out 输出流，写完后刷新但不关闭
+     */
+    public static void write(Object o, OutputStream out) {
+        CODEC.write(o, out);
+    }
+
+    public static void write(Object o, Writer out) {
+        CODEC.write(o, out);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象的UTF-8字节写入缓冲区，空间不足时抛出 BufferOverflowException 且不写入任何内容</p>
+     *
+     * @param o   对象，为null时写入 null
+     * @param out 目标缓冲区，写入后 position 后移
+     * @return 写入的字节数
+     */
+    public static int write(Object o, ByteBuffer out) {
+        return CODEC.write(o, out);
     }
 
     /**
@@ -136,6 +363,81 @@ public class UJson {
         return Configuration.defaultConfiguration().jsonProvider().parse(json);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:34</p>
+     * <p>Desp: 从字节编译json对象，由 Jackson 直接解析UTF-8字节，不先解码为字符串</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：json来自网络或磁盘的字节，省去解码为字符串的内存和CPU开销</p>
+     *
+     * @param json UTF-8/UTF-16/UTF-32 编码的json字节
+     * @return 编译后的json对象，没有内容时返回null
+     * @throws InvalidJsonException json格式错误
+     */
+    public static Object compile(byte[] json) {
+        return null == json ? null : compile(json, 0, json.length);
+    }
+
+    public static Object compile(byte[] json, int offset, int length) {
+        if (null == json) {
+            return null;
+        }
+        try {
+            return read(MAPPER.getFactory().createParser(json, offset, length));
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:34</p>
+     * <p>Desp: 从字节缓冲区编译json对象，读取 position 到 limit 之间的字节，不改变缓冲区的位置；支持直接内存和内存映射的缓冲区</p>
+     *
+     * @param json json字节缓冲区
+     * @return 编译后的json对象，没有内容时返回null
+     * @throws InvalidJsonException json格式错误
+     */
+    public static Object compile(ByteBuffer json) {
+        if (null == json) {
+            return null;
+        }
+        try {
+            return read(json.hasArray()
+                    ? MAPPER.getFactory().createParser(json.array(), json.arrayOffset() + json.position(), json.remaining())
+                    : MAPPER.getFactory().createParser(new ByteBufferBackedInputStream(json.duplicate())));
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:34</p>
+     * <p>Desp: 从输入流编译json对象，读取完后不关闭输入流</p>
+     *
+     * @param json json输入流
+     * @return 编译后的json对象，没有内容时返回null
+     * @throws InvalidJsonException json格式错误
+     */
+    public static Object compile(InputStream json) {
+        if (null == json) {
+            return null;
+        }
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(json);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return read(parser);
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    private static Object read(JsonParser parser) throws IOException {
+        try (JsonParser p = parser) {
+            return null == p.nextToken() ? null : MAPPER.readValue(p, Object.class);
+        }
+    }
+
     /**
      * <p>Author: weicm</p>
      * <p>Date: 2018/1/26 13:59</p>
@@ -147,10 +449,40 @@ public class UJson {
      * @return 解析结果
      */
     public static <T> T parse(Object doc, String path) {
+        return parse(doc, PATHS.get(path));
+    }
+
+    public static <T> T parse(Object doc, JsonPath path) {
         if (null == doc) {
             return null;
         }
-        return JsonPath.read(doc, path);
+        return path.read(doc);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 一次遍历从json字符串中取出多个命名路径的值，代替多次调用 parse(Object doc, String path)</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 同一组路径反复使用时，通过 extractor 编译一次后重复使用</p>
+     *
+     * @param json       json字符串
+     * @param namedPaths 名称到 path 表达式的映射
+     * @return 名称到值的映射，不存在的路径值为null；json为空时返回null
+     */
+    public static Map<String, Object> extract(String json, Map<String, String> namedPaths) {
+        return JsonExtractor.compile(namedPaths).extract(json);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 编译多路径提取器，编译后线程安全，可重复使用</p>
+     *
+     * @param namedPaths 名称到 path 表达式的映射，结果按该映射的顺序返回
+     * @return 提取器
+     */
+    public static JsonExtractor extractor(Map<String, String> namedPaths) {
+        return JsonExtractor.compile(namedPaths);
     }
 
     /**
@@ -167,6 +499,137 @@ public class UJson {
         return parse(compile(json), path);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 流式迭代输入流中 path 指定的数组，逐个绑定元素，不需要将整个文档读入内存</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 使用场景：处理无法整体读入内存的大文件，如数GB的导出数据；path 只支持简单路径，$ 表示顶层数组</p>
+     *
+     * @param in   UTF-8/UTF-16/UTF-32 编码的json输入流，关闭迭代器时不关闭
+     * @param path 数组的 path 表达式
+     * @param type 元素的泛型引用对象
+     * @param <T>  元素类型
+     * @return 元素迭代器，用完后应关闭
+     */
+    public static <T> JsonArrayIterator<T> iterate(InputStream in, String path, TypeRef<T> type) {
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(in);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return new JsonArrayIterator<>(parser, path, MAPPER.readerFor(type(type)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static <T> JsonArrayIterator<T> iterate(Reader reader, String path, TypeRef<T> type) {
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(reader);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return new JsonArrayIterator<>(parser, path, MAPPER.readerFor(type(type)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 流式迭代文件中 path 指定的数组，关闭迭代器时关闭文件</p>
+     *
+     * @param file json文件
+     * @param path 数组的 path 表达式
+     * @param type 元素的泛型引用对象
+     * @param <T>  元素类型
+     * @return 元素迭代器，用完后应关闭
+     */
+    public static <T> JsonArrayIterator<T> iterate(Path file, String path, TypeRef<T> type) {
+        try {
+            InputStream in = Files.newInputStream(file);
+            try {
+                return new JsonArrayIterator<>(MAPPER.getFactory().createParser(in), path, MAPPER.readerFor(type(type)));
+            } catch (IOException | RuntimeException e) {
+                //创建解析器或定位数组失败时关闭文件，成功时由迭代器负责关闭
+                try {
+                    in.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 以流的方式处理输入流中 path 指定的数组，与 iterate 相同，关闭流时释放解析器</p>
+     *
+     * @param in   json输入流，关闭流时不关闭
+     * @param path 数组的 path 表达式
+     * @param type 元素的泛型引用对象
+     * @param <T>  元素类型
+     * @return 元素流，应在 try-with-resources 中使用
+     */
+    public static <T> Stream<T> stream(InputStream in, String path, TypeRef<T> type) {
+        return iterate(in, path, type).stream();
+    }
+
+    public static <T> Stream<T> stream(Reader reader, String path, TypeRef<T> type) {
+        return iterate(reader, path, type).stream();
+    }
+
+    public static <T> Stream<T> stream(Path file, String path, TypeRef<T> type) {
+        return iterate(file, path, type).stream();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 并行读取 NDJSON（JSON Lines）文件，每行绑定为一个对象，大文件通过内存映射读取</p>
+     *
+     * @param file NDJSON文件
+     * @param type 每行的泛型引用对象
+     * @param <T>  每行的类型
+     * @return 按行的顺序排列的并行流，应在 try-with-resources 中使用
+     */
+    public static <T> Stream<T> lines(Path file, TypeRef<T> type) {
+        return LINES.stream(file, type(type));
+    }
+
+    public static <T> Stream<T> lines(InputStream in, TypeRef<T> type) {
+        return LINES.stream(in, type(type));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 将流中的每个元素序列化为一行，写为 NDJSON（JSON Lines）</p>
+     *
+     * @param values 要写入的元素
+     * @param out    输出流，写完后刷新但不关闭
+     * @return 写入的行数
+     */
+    public static long writeLines(Stream<?> values, OutputStream out) {
+        return LINES.write(values, out);
+    }
+
+    public static long writeLines(Stream<?> values, Path file) {
+        return LINES.write(values, file);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 获取 NDJSON 读写工具，可指定解析使用的 fork-join 线程池</p>
+     *
+     * @return NDJSON 读写工具
+     */
+    public static JsonLines jsonLines() {
+        return LINES;
+    }
+
     public static <K, V> Bean bean() {
         return new Bean<K, V>();
     }
@@ -244,154 +707,74 @@ public class UJson {
 
     /**
      * <p>Created by weicm on 2018/3/30 14:55</p>
-     * <p>Desp: 格式化json字符串</p>
+     * <p>Desp: 格式化json字符串，缩进为4个空格，被排除的属性的值写在一行内</p>
+     * <p>&nbsp;&nbsp;&nbsp;&nbsp; 由 JsonFormatter 流式格式化，不生成对象树，字符串按json规则转义</p>
      *
      * @param json 未格式化的JSON字符串
+     * @param excludeFileds 属性值不需要继续格式化的属性对应的键
      * @return 格式化的JSON字符串。
+     * @throws InvalidJsonException json格式错误
      */
     public static String format(String json, String... excludeFileds) {
-        //return format(json, "    ", true);
-        Object o = parse(json, "$", Object.class);
-        return format(o, "    ", Arrays.asList(excludeFileds), true);
+        if (null == json || "".equals(json.trim())) {
+            return "null";
+        }
+        return formatter(excludeFileds).format(json);
     }
 
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 格式化json字符串并追加到 out，不生成中间字符串</p>
+     *
+     * @param json          未格式化的JSON字符串
+     * @param out           输出目标，如 StringBuilder、Writer
+     * @param excludeFileds 属性值不需要继续格式化的属性对应的键
+     */
+    public static void format(String json, Appendable out, String... excludeFileds) {
+        formatter(excludeFileds).format(json, out);
+    }
 
     /**
-     * <p>Created by weicm on 2018/3/30 14:55</p>
-     * <p>Desp: 将对象格式化json字符串</p>
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 从字符流读取并格式化写出，内存占用与文档大小无关；不关闭输入输出</p>
      *
-     * @param o       要被格式化的对象
-     * @param space   格式化用的字符
-     * @param exclude 属性值不需要继续格式化的属性对应的键
-     * @param newLine 属性值格式化时是否需要换行
-     * @return 格式化后的字符串
-     */
-    private static String format(Object o, final String space, List<String> exclude, boolean newLine) {
-        String closeSpace = space.length() == 4 || !newLine ? "" : space.substring(0, space.length() / 2);
-        String newLineTag = newLine ? "\n" : "";
-        String spaceTag = newLine ? space : "";
-        if (o instanceof Map) {
-            StringBuilder mapSb = new StringBuilder();
-            mapSb.append("{").append(newLineTag);
-            Map map = (Map) o;
-            map.forEach((key, value) -> {
-                mapSb
-                        .append(spaceTag)
-                        .append("\"")
-                        .append(key)
-                        .append("\"")
-                        .append(": ")
-                        .append(format(value, space + space, exclude, exclude.contains(key) ? false : true))
-                        .append(", ")
-                        .append(newLineTag);
-            });
-            if (map.size() > 0) {
-                mapSb.deleteCharAt(mapSb.lastIndexOf(","));
-            }
-            mapSb.append(closeSpace).append("}");
-            return mapSb.toString();
-        } else if (o instanceof List) {
-            StringBuilder listSb = new StringBuilder();
-            listSb.append("[").append(newLineTag);
-            List list = (List) o;
-            list.forEach(item -> {
-                listSb
-                        .append(spaceTag)
-                        .append(format(item, space + space, exclude, true))
-                        .append(", ")
-                        .append(newLineTag);
-            });
-            if (list.size() > 0) {
-                listSb.deleteCharAt(listSb.lastIndexOf(","));
-            }
-            listSb.append(closeSpace).append("]");
-            return listSb.toString();
-        } else if (o instanceof String) {
-            return "\"" + o + "\"";
-        } else {
-            return String.valueOf(o);
-        }
+     * @param in            json字符流
+     * @param out           输出字符流
+     * @param excludeFileds 属性值不需要继续格式化的属性对应的键
+     */
+    public static void format(Reader in, Writer out, String... excludeFileds) {
+        formatter(excludeFileds).format(in, out);
     }
 
     /**
-     * 格式化json字符串，指定缩进
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 从字节流读取并以UTF-8格式化写出，内存占用与文档大小无关，适用于GB级的文件；不关闭输入输出</p>
      *
-     * @param json  未格式化的JSON字符串。
-     * @param space 缩进字符串
-     * @return 格式化的JSON字符串。
-     * @commaNewLine 逗号是否换行
+     * @param in            UTF-8/UTF-16/UTF-32 编码的json字节流
+     * @param out           输出字节流
+     * @param excludeFileds 属性值不需要继续格式化的属性对应的键
      */
-    public static String format(String json, String space, boolean commaNewLine) {
-        StringBuffer result = new StringBuffer();
-        int length = json.length();
-        int number = 0;
-        char key = 0;
-
-        //遍历输入字符串。
-        for (int i = 0; i < length; i++) {
-            //1、获取当前字符。
-            key = json.charAt(i);
-            //如果key为冒号
-            if (key == ':' && json.charAt(i - 1) == '"') {
-                result.append(key + " ");
-                continue;
-            }
-            //2、如果当前字符是前方括号、前花括号做如下处理：
-            if ((key == '[') || (key == '{')) {
-                //（1）打印：当前字符。
-                result.append(key);
-                //（2）前方括号、前花括号，的后面必须换行。打印：换行。
-                if (!(key == '[' && json.charAt(i + 1) == ']') && !(key == '{' && json.charAt(i + 1) == '}')) {
-                    result.append('\n');
-                    //（3）每出现一次前方括号、前花括号，并且不是空括号时，缩进次数增加一次。打印：新行缩进。
-                    number++;
-                    result.append(indent(space, number));
-                }
-                //（4）进行下一次循环。
-                continue;
-            }
-            //3、如果当前字符是后方括号、后花括号做如下处理：
-            if ((key == ']') || (key == '}')) {
-                //（1）后方括号、后花括号，的前面必须换行。打印：换行。
-                if (!(key == ']' && json.charAt(i - 1) == '[') && !(key == '}' && json.charAt(i - 1) == '{')) {
-                    result.append('\n');
-                    //（2）每出现一次后方括号、后花括号；缩进次数减少一次。打印：缩进。
-                    number--;
-                    result.append(indent(space, number));
-                }
-                //（3）打印：当前字符。
-                result.append(key);
-                //（4）继续下一次循环。
-                continue;
-            }
+    public static void format(InputStream in, OutputStream out, String... excludeFileds) {
+        formatter(excludeFileds).format(in, out);
+    }
 
-            //4、如果当前字符是逗号。逗号后面换行，并缩进，不改变缩进次数。
-            if ((key == ',')) {
-                result.append(key);
-                if ((json.charAt(i - 1) == ']' || json.charAt(i - 1) == '}') || commaNewLine) {
-                    result.append('\n');
-                    result.append(indent(space, number));
-                } else
-                    result.append(' ');
-                continue;
-            }
-            //5、打印：当前字符。
-            result.append(key);
-        }
-        return result.toString();
+    private static JsonFormatter formatter(String... excludeFileds) {
+        return null == excludeFileds || 0 == excludeFileds.length ? FORMATTER : JsonFormatter.create().exclude(excludeFileds);
     }
 
     /**
-     * 返回指定次数的缩进字符串。每一次缩进三个空格，即SPACE。
+     * 格式化json字符串，指定缩进
      *
-     * @param number 缩进次数。
-     * @return 指定缩进次数的字符串。
+     * @param json  未格式化的JSON字符串。
+     * @param space 缩进字符串
+     * @return 格式化的JSON字符串。
+     * @commaNewLine 逗号是否换行，为false时只在对象或数组之后的逗号换行
+     * @throws InvalidJsonException json格式错误
      */
-    private static String indent(String indent, int number) {
-        StringBuffer result = new StringBuffer();
-        for (int i = 0; i < number; i++) {
-            result.append(indent);
-        }
-        return result.toString();
+    public static String format(String json, String space, boolean commaNewLine) {
+        return JsonFormatter.create().indent(space).commaNewLine(commaNewLine).format(json);
     }
 }
@@ -0,0 +1,164 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:29</p>
+ * <p>Desp: 流式数组迭代器：在 JsonParser 上定位到 path 指定的数组，逐个读取并绑定元素，内存占用与单个元素成正比；非线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; path 只支持由 .name、['name']、[index] 组成的简单路径，$ 表示顶层数组；路径不存在时没有元素，路径指向的值不是数组时抛出 IllegalArgumentException</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 读取失败时抛出 UncheckedIOException；用完后应关闭，释放解析器及其打开的文件</p>
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    //是否已读到下一个元素的起始位置
+    private boolean ready;
+    private boolean done;
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 创建迭代器，立即定位到数组的起始位置</p>
+     * @param parser 未读取过的解析器，关闭迭代器时关闭
+     * @param path 数组的 path 表达式
+     * @param reader 元素类型的 ObjectReader
+     */
+    public JsonArrayIterator(JsonParser parser, String path, ObjectReader reader) {
+        List<Object> segments = JsonExtractor.segments(path);
+        if (null == segments) {
+            throw new IllegalArgumentException("Only plain child/index paths are supported: " + path);
+        }
+        this.parser = parser;
+        this.reader = reader;
+        try {
+            done = !locate(segments);
+            if (!done && JsonToken.START_ARRAY != parser.currentToken()) {
+                throw new IllegalArgumentException("Value at " + path + " is not an array: " + parser.currentToken());
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 按路径逐段定位，不需要的子树直接跳过</p>
+     * @return 路径是否存在且值不为null
+     */
+    private boolean locate(List<Object> segments) throws IOException {
+        if (null == parser.nextToken()) {
+            return false;
+        }
+        for (Object segment : segments) {
+            JsonToken token = parser.currentToken();
+            if (segment instanceof String && JsonToken.START_OBJECT == token) {
+                if (!locateField((String) segment)) {
+                    return false;
+                }
+            } else if (segment instanceof Integer && JsonToken.START_ARRAY == token) {
+                if (!locateIndex((Integer) segment)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return JsonToken.VALUE_NULL != parser.currentToken();
+    }
+
+    private boolean locateField(String name) throws IOException {
+        while (JsonToken.FIELD_NAME == parser.nextToken()) {
+            boolean match = name.equals(parser.getCurrentName());
+            parser.nextToken();
+            if (match) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean locateIndex(int index) throws IOException {
+        for (int i = 0; JsonToken.END_ARRAY != parser.nextToken(); i++) {
+            if (i == index) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (done) {
+            return false;
+        }
+        if (!ready) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (null == token || JsonToken.END_ARRAY == token) {
+                    done = true;
+                    close();
+                    return false;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ready = true;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        try {
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:29</p>
+     * <p>Desp: 转换为顺序流，关闭流时关闭迭代器</p>
+     * @return 元素流
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:40</p>
+ * <p>Desp: json 编解码实例：持有一个配置好的 ObjectMapper，按类型缓存 ObjectReader、ObjectWriter，序列化时直接使用 ObjectWriter，不经过 JsonPath；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 通过 builder 注册模块（如 JavaTime、Afterburner、Blackbird）和开关特性，构建后配置不可修改；UJson 的静态方法使用一个默认实例</p>
+ */
+public class JsonCodec {
+    //每种缓存的最大条目数，超过后不再缓存新的类型，避免动态生成的类撑大缓存
+    private static final int MAX_CACHED_TYPES = 1024;
+    //线程本地缓冲区的初始大小和可保留的最大大小，序列化更大的对象后缓冲区被丢弃
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private final ObjectMapper mapper;
+    private final Configuration configuration;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private JsonCodec(Builder builder) {
+        ObjectMapper m = new ObjectMapper();
+        if (null != builder.inclusion) {
+            m.setSerializationInclusion(builder.inclusion);
+        }
+        builder.serializationFeatures.forEach(m::configure);
+        builder.deserializationFeatures.forEach(m::configure);
+        builder.generatorFeatures.forEach(m::configure);
+        builder.parserFeatures.forEach(m::configure);
+        if (builder.findModules) {
+            m.findAndRegisterModules();
+        }
+        m.registerModules(builder.modules);
+        for (Consumer<ObjectMapper> customizer : builder.customizers) {
+            customizer.accept(m);
+        }
+        this.mapper = m;
+        this.configuration = Configuration.builder()
+                .jsonProvider(new JacksonJsonProvider(m))
+                .mappingProvider(new JacksonMappingProvider(m))
+                .options(EnumSet.of(Option.SUPPRESS_EXCEPTIONS))
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 获取实例持有的 ObjectMapper</p>
+     * @return ObjectMapper，不要修改其配置，否则已缓存的 reader、writer 与之不一致
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 获取使用该实例 ObjectMapper 的 JsonPath 配置，计算路径出错时返回null</p>
+     * @return JsonPath 配置
+     */
+    public Configuration configuration() {
+        return configuration;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 获取指定类型的 ObjectWriter，根序列化器已预先查找，结果来自缓存</p>
+     * @param type 要序列化的对象的运行时类型
+     * @return ObjectWriter，线程安全
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (null == writer) {
+            writer = mapper.writerFor(type);
+            if (writers.size() < MAX_CACHED_TYPES) {
+                writers.putIfAbsent(type, writer);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 获取指定类型的 ObjectReader，根反序列化器已预先查找，结果来自缓存</p>
+     * @param type 目标类型
+     * @return ObjectReader，线程安全
+     */
+    public ObjectReader reader(JavaType type) {
+        ObjectReader reader = readers.get(type);
+        if (null == reader) {
+            reader = mapper.readerFor(type);
+            if (readers.size() < MAX_CACHED_TYPES) {
+                readers.putIfAbsent(type, reader);
+            }
+        }
+        return reader;
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return reader(mapper.constructType(type));
+    }
+
+    public ObjectReader reader(TypeRef<?> type) {
+        return reader(mapper.getTypeFactory().constructType(type.getType()));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 将对象转换为json字符串</p>
+     * @param o 对象
+     * @return json字符串，对象为null时返回null
+     * @throws InvalidJsonException 序列化失败
+     */
+    public String str(Object o) {
+        if (null == o) {
+            return null;
+        }
+        try {
+            return writer(o.getClass()).writeValueAsString(o);
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象序列化为UTF-8字节，不经过字符串；在线程本地的缓冲区中序列化后复制一次</p>
+     * @param o 对象
+     * @return UTF-8编码的json字节，对象为null时返回null
+     * @throws InvalidJsonException 序列化失败
+     */
+    public byte[] bytes(Object o) {
+        if (null == o) {
+            return null;
+        }
+        Buffer buffer = acquire();
+        try {
+            serialize(o, buffer);
+            return Arrays.copyOf(buffer.bytes, buffer.count);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象以UTF-8直接序列化到输出流，不在堆中生成完整的json；写完后刷新但不关闭输出流</p>
+     * @param o 对象，为null时写入 null
+     * @param out 输出流
+     * @throws InvalidJsonException 序列化失败，已写出的内容不是完整的json
+     * @throws UncheckedIOException 写入失败
+     */
+    public void write(Object o, OutputStream out) {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            write(o, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象直接序列化到字符流，写完后刷新但不关闭字符流</p>
+     * @param o 对象，为null时写入 null
+     * @param out 字符流
+     * @throws InvalidJsonException 序列化失败，已写出的内容不是完整的json
+     * @throws UncheckedIOException 写入失败
+     */
+    public void write(Object o, Writer out) {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            write(o, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:42</p>
+     * <p>Desp: 将对象的UTF-8字节写入缓冲区的 position 处，先在线程本地的缓冲区中序列化，空间不足时不写入任何内容</p>
+     * @param o 对象，为null时写入 null
+     * @param out 目标缓冲区，写入后 position 后移
+     * @return 写入的字节数
+     * @throws java.nio.BufferOverflowException 缓冲区剩余空间不足
+     * @throws InvalidJsonException 序列化失败
+     */
+    public int write(Object o, ByteBuffer out) {
+        Buffer buffer = acquire();
+        try {
+            serialize(o, buffer);
+            if (buffer.count > out.remaining()) {
+                throw new BufferOverflowException();
+            }
+            out.put(buffer.bytes, 0, buffer.count);
+            return buffer.count;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private void write(Object o, JsonGenerator generator) throws IOException {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        //序列化中途失败时关闭生成器不补全未结束的对象和数组，避免输出看似完整的json
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            writer(null == o ? Object.class : o.getClass()).writeValue(generator, o);
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonException(e);
+        }
+        generator.flush();
+    }
+
+    private void serialize(Object o, Buffer buffer) {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            write(o, generator);
+        } catch (IOException e) {
+            //写入内存缓冲区不会失败
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 取当前线程的缓冲区，序列化过程中自定义序列化器再次调用时，缓冲区已被占用，使用新的缓冲区
+     */
+    private static Buffer acquire() {
+        Buffer buffer = BUFFERS.get();
+        if (buffer.inUse) {
+            return new Buffer();
+        }
+        buffer.inUse = true;
+        buffer.count = 0;
+        return buffer;
+    }
+
+    private static void release(Buffer buffer) {
+        buffer.inUse = false;
+        if (buffer.bytes.length > MAX_BUFFER_SIZE) {
+            buffer.bytes = new byte[BUFFER_SIZE];
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: 将json字符串直接绑定为对象，不经过 JsonPath</p>
+     * @param json json字符串
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 对象，json为空时返回null
+     * @throws InvalidJsonException json格式错误或与类型不匹配
+     */
+    public <T> T parse(String json, JavaType type) {
+        if (null == json || "".equals(json.trim())) {
+            return null;
+        }
+        try {
+            return reader(type).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    public <T> T parse(String json, Class<T> type) {
+        return parse(json, mapper.constructType(type));
+    }
+
+    public <T> T parse(String json, TypeRef<T> type) {
+        return parse(json, mapper.getTypeFactory().constructType(type.getType()));
+    }
+
+    /**
+     * 可重复使用的字节输出缓冲区，非线程安全
+     */
+    private static class Buffer extends OutputStream {
+        private byte[] bytes = new byte[BUFFER_SIZE];
+        private int count;
+        private boolean inUse;
+
+        @Override
+        public void write(int b) {
+            ensure(1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensure(int len) {
+            if (count + len > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, count + len));
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:40</p>
+     * <p>Desp: JsonCodec 构造器，注册模块、开关特性</p>
+     */
+    public static class Builder {
+        private JsonInclude.Include inclusion;
+        private final Map<SerializationFeature, Boolean> serializationFeatures = new LinkedHashMap<>();
+        private final Map<DeserializationFeature, Boolean> deserializationFeatures = new LinkedHashMap<>();
+        private final Map<JsonGenerator.Feature, Boolean> generatorFeatures = new LinkedHashMap<>();
+        private final Map<JsonParser.Feature, Boolean> parserFeatures = new LinkedHashMap<>();
+        private final List<Module> modules = new ArrayList<>();
+        //是否注册类路径上通过 ServiceLoader 声明的所有模块
+        private boolean findModules = false;
+        private final List<Consumer<ObjectMapper>> customizers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:40</p>
+         * <p>Desp: 设置序列化时包含哪些属性，如 NON_NULL 忽略null属性</p>
+         * @param inclusion 包含规则
+         * @return 当前构造器
+         */
+        public Builder inclusion(JsonInclude.Include inclusion) {
+            this.inclusion = inclusion;
+            return this;
+        }
+
+        public Builder configure(SerializationFeature feature, boolean state) {
+            serializationFeatures.put(feature, state);
+            return this;
+        }
+
+        public Builder configure(DeserializationFeature feature, boolean state) {
+            deserializationFeatures.put(feature, state);
+            return this;
+        }
+
+        public Builder configure(JsonGenerator.Feature feature, boolean state) {
+            generatorFeatures.put(feature, state);
+            return this;
+        }
+
+        public Builder configure(JsonParser.Feature feature, boolean state) {
+            parserFeatures.put(feature, state);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:40</p>
+         * <p>Desp: 注册模块，如 JavaTimeModule、AfterburnerModule、BlackbirdModule，模块的依赖由使用方引入</p>
+         * @param module 模块
+         * @return 当前构造器
+         */
+        public Builder module(Module module) {
+            modules.add(module);
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:40</p>
+         * <p>Desp: 注册类路径上所有通过 ServiceLoader 声明的模块，在 module 指定的模块之前注册</p>
+         * @return 当前构造器
+         */
+        public Builder findModules() {
+            this.findModules = true;
+            return this;
+        }
+
+        /**
+         * <p>Author: weicm</p>
+         * <p>Date: 2026/10/17 21:40</p>
+         * <p>Desp: 其他配置，在特性和模块之后执行</p>
+         * @param customizer 对 ObjectMapper 的配置操作
+         * @return 当前构造器
+         */
+        public Builder customize(Consumer<ObjectMapper> customizer) {
+            customizers.add(customizer);
+            return this;
+        }
+
+        public JsonCodec build() {
+            return new JsonCodec(this);
+        }
+    }
+}
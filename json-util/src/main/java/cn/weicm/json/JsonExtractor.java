@@ -0,0 +1,294 @@
+package cn.weicm.json;
+
+import cn.weicm.UJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:28</p>
+ * <p>Desp: 多路径提取器：一次遍历取出多个命名的 path 表达式的值；编译后不可变，线程安全，可重复使用</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 全部为简单路径（由 .name、['name']、[index] 组成）时直接在 Jackson 的 JsonParser 上流式读取，不需要的子树跳过而不生成对象，
+ * 所有路径都取到后立即停止读取；含通配符、过滤器、深度扫描、负下标等表达式时，整体解析一次后用 JsonPath 逐个计算</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 不存在的路径结果为null；流式提取时对象中重复的键以第一次出现的为准</p>
+ */
+public class JsonExtractor {
+    private final Map<String, JsonPath> paths = new LinkedHashMap<>();
+    //简单路径组成的前缀树，存在非简单路径时为null
+    private final Node root;
+
+    private JsonExtractor(Map<String, String> namedPaths) {
+        Node tree = new Node();
+        for (Map.Entry<String, String> entry : namedPaths.entrySet()) {
+            //先用 JsonPath 编译，非法表达式与 UJson.parse 抛出相同的异常
+            paths.put(entry.getKey(), JsonPath.compile(entry.getValue()));
+            List<Object> segments = null == tree ? null : segments(entry.getValue());
+            if (null == segments) {
+                tree = null;
+                continue;
+            }
+            Node node = tree;
+            for (Object segment : segments) {
+                node = segment instanceof String
+                        ? node.fields.computeIfAbsent((String) segment, k -> new Node())
+                        : node.indexes.computeIfAbsent((Integer) segment, k -> new Node());
+            }
+            node.names.add(entry.getKey());
+        }
+        if (null != tree) {
+            tree.count();
+        }
+        root = tree;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 编译多路径提取器</p>
+     * @param namedPaths 名称到 path 表达式的映射，结果按该映射的顺序返回
+     * @return 提取器
+     * @throws com.jayway.jsonpath.InvalidPathException 表达式非法
+     */
+    public static JsonExtractor compile(Map<String, String> namedPaths) {
+        return new JsonExtractor(namedPaths);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 是否可以流式提取，即全部为简单路径</p>
+     * @return 是否可以流式提取
+     */
+    public boolean isStreaming() {
+        return null != root;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 从json字符串中提取</p>
+     * @param json json字符串
+     * @return 名称到值的映射，值的类型与 UJson.parse(Object doc, String path) 一致；json为空时返回null
+     */
+    public Map<String, Object> extract(String json) {
+        if (null == json || "".equals(json.trim())) {
+            return null;
+        }
+        try {
+            if (null == root) {
+                return evaluate(UJson.compile(json));
+            }
+            try (JsonParser parser = UJson.mapper().getFactory().createParser(json)) {
+                return extract(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 从输入流中提取，流式提取时取到所有路径后不再继续读取；不关闭输入流</p>
+     * @param in UTF-8/UTF-16/UTF-32 编码的json输入流
+     * @return 名称到值的映射
+     */
+    public Map<String, Object> extract(InputStream in) {
+        try (JsonParser parser = UJson.mapper().getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (null == root) {
+                return evaluate(UJson.mapper().readValue(parser, Object.class));
+            }
+            return extract(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 从编译过的json对象中提取，即 UJson.compile 的结果</p>
+     * @param doc 编译过的json对象
+     * @return 名称到值的映射
+     */
+    public Map<String, Object> evaluate(Object doc) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonPath> entry : paths.entrySet()) {
+            result.put(entry.getKey(), null == doc ? null : entry.getValue().read(doc));
+        }
+        return result;
+    }
+
+    private Map<String, Object> extract(JsonParser parser) throws IOException {
+        Walk walk = new Walk();
+        for (String name : paths.keySet()) {
+            walk.result.put(name, null);
+        }
+        walk.pending = root.size;
+        if (null != parser.nextToken()) {
+            walk(parser, root, walk);
+        }
+        return walk.result;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 读取当前值，负责确定节点下所有路径的结果；所有路径都已确定时立即返回true，不再读取后续内容</p>
+     */
+    private boolean walk(JsonParser parser, Node node, Walk walk) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (!node.names.isEmpty()) {
+            //路径终点，读取整个值，其下更深的路径从生成的对象中取
+            collect(UJson.mapper().readValue(parser, Object.class), node, walk.result);
+            return resolve(walk, node.size);
+        }
+        if (JsonToken.START_OBJECT == token && !node.fields.isEmpty()) {
+            Map<String, Node> unmatched = new LinkedHashMap<>(node.fields);
+            while (JsonToken.FIELD_NAME == parser.nextToken()) {
+                Node child = unmatched.remove(parser.getCurrentName());
+                parser.nextToken();
+                if (null == child) {
+                    parser.skipChildren();
+                } else if (walk(parser, child, walk) || resolve(walk, 1)) {
+                    return true;
+                }
+            }
+            return resolveMissing(walk, unmatched);
+        }
+        if (JsonToken.START_ARRAY == token && !node.indexes.isEmpty()) {
+            Map<Integer, Node> unmatched = new LinkedHashMap<>(node.indexes);
+            for (int index = 0; JsonToken.END_ARRAY != parser.nextToken(); index++) {
+                Node child = unmatched.remove(index);
+                if (null == child) {
+                    parser.skipChildren();
+                } else if (walk(parser, child, walk) || resolve(walk, 1)) {
+                    return true;
+                }
+            }
+            return resolveMissing(walk, unmatched);
+        }
+        //类型不匹配，其下的路径都不存在
+        parser.skipChildren();
+        return resolve(walk, node.size);
+    }
+
+    private static boolean resolve(Walk walk, int count) {
+        walk.pending -= count;
+        return 0 == walk.pending;
+    }
+
+    private static boolean resolveMissing(Walk walk, Map<?, Node> unmatched) {
+        int count = 0;
+        for (Node child : unmatched.values()) {
+            count += child.size + 1;
+        }
+        return resolve(walk, count);
+    }
+
+    private static void collect(Object value, Node node, Map<String, Object> result) {
+        for (String name : node.names) {
+            result.put(name, value);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            for (Map.Entry<String, Node> entry : node.fields.entrySet()) {
+                if (map.containsKey(entry.getKey())) {
+                    collect(map.get(entry.getKey()), entry.getValue(), result);
+                }
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            for (Map.Entry<Integer, Node> entry : node.indexes.entrySet()) {
+                if (entry.getKey() < list.size()) {
+                    collect(list.get(entry.getKey()), entry.getValue(), result);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:28</p>
+     * <p>Desp: 将简单路径拆分为属性名和下标，不是简单路径时返回null</p>
+     */
+    static List<Object> segments(String path) {
+        String p = path.trim();
+        if (!p.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < p.length()) {
+            char c = p.charAt(i);
+            if ('.' == c) {
+                int end = i + 1;
+                while (end < p.length() && ".[]*()?@,'\" ".indexOf(p.charAt(end)) < 0) {
+                    end++;
+                }
+                if (end == i + 1) {
+                    //深度扫描 .. 或通配符 .*
+                    return null;
+                }
+                segments.add(p.substring(i + 1, end));
+                i = end;
+            } else if ('[' == c) {
+                int close = p.indexOf(']', i);
+                if (close < 0) {
+                    return null;
+                }
+                String inner = p.substring(i + 1, close).trim();
+                if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                        && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    String name = inner.substring(1, inner.length() - 1);
+                    if (name.indexOf('\'') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\\') >= 0) {
+                        return null;
+                    }
+                    segments.add(name);
+                } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit) && inner.length() < 10) {
+                    segments.add(Integer.parseInt(inner));
+                } else {
+                    return null;
+                }
+                i = close + 1;
+            } else {
+                return null;
+            }
+        }
+        return segments;
+    }
+
+    private static class Node {
+        private final List<String> names = new ArrayList<>(1);
+        private final Map<String, Node> fields = new LinkedHashMap<>();
+        private final Map<Integer, Node> indexes = new LinkedHashMap<>();
+        //子树中的边数
+        private int size;
+
+        private int count() {
+            size = 0;
+            for (Node child : fields.values()) {
+                size += child.count() + 1;
+            }
+            for (Node child : indexes.values()) {
+                size += child.count() + 1;
+            }
+            return size;
+        }
+    }
+
+    private static class Walk {
+        private final Map<String, Object> result = new LinkedHashMap<>();
+        private int pending;
+    }
+}
@@ -0,0 +1,307 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:38</p>
+ * <p>Desp: 流式json格式化：逐个读取词法单元直接写出，不生成对象树，内存占用与文档大小无关；配置完成后线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 字符串按json规则转义，数字保持原文；被排除的属性的值不换行，整体写在一行内</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; json格式错误时抛出 InvalidJsonException，写出失败时抛出 UncheckedIOException</p>
+ */
+public class JsonFormatter {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    //预先生成的缩进层数，更深时按需扩展
+    private static final int CACHED_LEVELS = 32;
+
+    private String indent = "    ";
+    private boolean commaNewLine = true;
+    private Set<String> excluded = Collections.emptySet();
+    //换行符加 CACHED_LEVELS 层缩进，写出时截取所需长度
+    private char[] newLines = newLines(indent, CACHED_LEVELS);
+
+    public static JsonFormatter create() {
+        return new JsonFormatter();
+    }
+
+    public JsonFormatter indent(String indent) {
+        this.indent = indent;
+        this.newLines = newLines(indent, CACHED_LEVELS);
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 设置逗号后是否换行，为false时只在对象或数组之后的逗号换行，简单值之间以空格分隔</p>
+     * @param commaNewLine 逗号后是否换行
+     * @return 当前格式化器
+     */
+    public JsonFormatter commaNewLine(boolean commaNewLine) {
+        this.commaNewLine = commaNewLine;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 设置值不需要展开的属性，这些属性的值写在一行内</p>
+     * @param fields 属性名
+     * @return 当前格式化器
+     */
+    public JsonFormatter exclude(String... fields) {
+        this.excluded = new HashSet<>(Arrays.asList(fields));
+        return this;
+    }
+
+    public String format(String json) {
+        StringBuilder out = new StringBuilder(json.length() * 2);
+        format(json, out);
+        return out.toString();
+    }
+
+    public void format(String json, Appendable out) {
+        try {
+            format(FACTORY.createParser(json), FACTORY.createGenerator(writer(out)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 从字符流读取并格式化写出，不关闭输入输出</p>
+     * @param in json字符流
+     * @param out 输出字符流，写完后刷新
+     */
+    public void format(Reader in, Writer out) {
+        try {
+            format(FACTORY.createParser(in), FACTORY.createGenerator(out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:38</p>
+     * <p>Desp: 从字节流读取并以UTF-8格式化写出，不解码为字符串，不关闭输入输出</p>
+     * @param in json字节流
+     * @param out 输出字节流，写完后刷新
+     */
+    public void format(InputStream in, OutputStream out) {
+        try {
+            format(FACTORY.createParser(in), FACTORY.createGenerator(out, JsonEncoding.UTF8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void format(JsonParser parser, JsonGenerator generator) throws IOException {
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Printer printer = new Printer();
+        generator.setPrettyPrinter(printer);
+        try (JsonParser p = parser; JsonGenerator g = generator) {
+            //被排除属性的值所在的深度，-1表示当前不在被排除的值内
+            int inlineDepth = -1;
+            int depth = 0;
+            JsonToken token;
+            while (null != (token = p.nextToken())) {
+                switch (token) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        depth++;
+                        g.copyCurrentEvent(p);
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        depth--;
+                        g.copyCurrentEvent(p);
+                        if (depth == inlineDepth) {
+                            inlineDepth = -1;
+                            printer.inline = false;
+                        }
+                        break;
+                    case FIELD_NAME:
+                        g.writeFieldName(p.getCurrentName());
+                        if (inlineDepth < 0 && excluded.contains(p.getCurrentName())) {
+                            inlineDepth = depth;
+                            printer.inline = true;
+                        }
+                        break;
+                    case VALUE_STRING:
+                        g.writeString(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                        break;
+                    case VALUE_NUMBER_INT:
+                    case VALUE_NUMBER_FLOAT:
+                        //保持数字原文，不转换为数值对象
+                        g.writeNumber(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                        break;
+                    default:
+                        g.copyCurrentEvent(p);
+                        break;
+                }
+                if (depth == inlineDepth && JsonToken.FIELD_NAME != token) {
+                    //被排除属性的值是简单值
+                    inlineDepth = -1;
+                    printer.inline = false;
+                }
+            }
+            g.flush();
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    private static char[] newLines(String indent, int levels) {
+        char[] chars = new char[1 + indent.length() * levels];
+        chars[0] = '\n';
+        for (int i = 0; i < levels; i++) {
+            indent.getChars(0, indent.length(), chars, 1 + i * indent.length());
+        }
+        return chars;
+    }
+
+    private static Writer writer(Appendable out) {
+        if (out instanceof Writer) {
+            return (Writer) out;
+        }
+        return new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                out.append(CharBuffer.wrap(cbuf, off, len));
+            }
+
+            @Override
+            public void write(String str, int off, int len) throws IOException {
+                out.append(str, off, off + len);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * 按配置写出换行、缩进和分隔符；有状态，每次格式化创建一个
+     */
+    private class Printer implements PrettyPrinter {
+        private char[] lines = newLines;
+        private int depth;
+        //上一个值是否为对象或数组
+        private boolean afterContainer;
+        private boolean inline;
+
+        private void newLine(JsonGenerator g) throws IOException {
+            int length = 1 + indent.length() * depth;
+            if (length > lines.length) {
+                lines = JsonFormatter.newLines(indent, depth * 2);
+            }
+            g.writeRaw(lines, 0, length);
+        }
+
+        @Override
+        public void writeRootValueSeparator(JsonGenerator g) throws IOException {
+            g.writeRaw('\n');
+        }
+
+        @Override
+        public void writeStartObject(JsonGenerator g) throws IOException {
+            g.writeRaw('{');
+            depth++;
+            afterContainer = false;
+        }
+
+        @Override
+        public void writeEndObject(JsonGenerator g, int nrOfEntries) throws IOException {
+            depth--;
+            if (nrOfEntries > 0 && !inline) {
+                newLine(g);
+            }
+            g.writeRaw('}');
+            afterContainer = true;
+        }
+
+        @Override
+        public void writeObjectEntrySeparator(JsonGenerator g) throws IOException {
+            separator(g);
+        }
+
+        @Override
+        public void writeObjectFieldValueSeparator(JsonGenerator g) throws IOException {
+            g.writeRaw(": ");
+        }
+
+        @Override
+        public void writeStartArray(JsonGenerator g) throws IOException {
+            g.writeRaw('[');
+            depth++;
+            afterContainer = false;
+        }
+
+        @Override
+        public void writeEndArray(JsonGenerator g, int nrOfValues) throws IOException {
+            depth--;
+            if (nrOfValues > 0 && !inline) {
+                newLine(g);
+            }
+            g.writeRaw(']');
+            afterContainer = true;
+        }
+
+        @Override
+        public void writeArrayValueSeparator(JsonGenerator g) throws IOException {
+            separator(g);
+        }
+
+        @Override
+        public void beforeArrayValues(JsonGenerator g) throws IOException {
+            if (!inline) {
+                newLine(g);
+            }
+        }
+
+        @Override
+        public void beforeObjectEntries(JsonGenerator g) throws IOException {
+            if (!inline) {
+                newLine(g);
+            }
+        }
+
+        private void separator(JsonGenerator g) throws IOException {
+            g.writeRaw(',');
+            if (!inline && (commaNewLine || afterContainer)) {
+                newLine(g);
+            } else {
+                g.writeRaw(' ');
+            }
+            afterContainer = false;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:32</p>
+ * <p>Desp: NDJSON（JSON Lines）读写：每行一个json文档，以换行符分隔；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 读文件时按换行符切分为若干块，块之间在 fork-join 线程池中并行解析，块内按行顺序解析；大文件通过内存映射读取，不读入堆内存</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 每行单独解析，一行只能有一个json值，json值不能跨行，结果与文件大小、分块方式无关</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 空白行被忽略；某行不是合法json或有多余内容时抛出 UncheckedIOException，消息中包含行号和出错位置的字节偏移</p>
+ */
+public class JsonLines {
+    //小于该大小的文件直接读入内存，不做内存映射
+    private static final long MMAP_THRESHOLD = 1024 * 1024;
+    //每块的最小、最大字节数，最大值受单次内存映射不超过2GB的限制
+    private static final long MIN_CHUNK = 1024 * 1024;
+    private static final long MAX_CHUNK = 256L * 1024 * 1024;
+    private static final int WRITE_BUFFER = 64 * 1024;
+    private static final int READ_BUFFER = 64 * 1024;
+    //空白行的解析结果
+    private static final Object BLANK = new Object();
+
+    private final ObjectMapper mapper;
+
+    public JsonLines(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 并行解析文件中的每一行，返回有序的并行流，流的终止操作在公共 fork-join 线程池或调用所在的 fork-join 线程池中执行</p>
+     * @param file NDJSON文件
+     * @param type 每行的类型
+     * @param <T> 每行的类型
+     * @return 并行流，按行的顺序排列，应在 try-with-resources 中使用，关闭时关闭文件
+     */
+    public <T> Stream<T> stream(Path file, JavaType type) {
+        ObjectReader reader = mapper.readerFor(type);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            long size = channel.size();
+            List<Chunk> chunks = new ArrayList<>();
+            if (size < MMAP_THRESHOLD) {
+                byte[] bytes = new byte[(int) size];
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    //读满整个文件
+                }
+                channel.close();
+                chunks.add(new Chunk(null, 0, size, ByteBuffer.wrap(bytes)));
+            } else {
+                long chunkSize = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / (ForkJoinPool.getCommonPoolParallelism() * 4L)));
+                long start = 0;
+                while (start < size) {
+                    long end = start + chunkSize >= size ? size : lineEnd(channel, start + chunkSize, size);
+                    chunks.add(new Chunk(channel, start, end, null));
+                    start = end;
+                }
+            }
+            FileChannel opened = channel;
+            return chunks.parallelStream()
+                    .flatMap(chunk -> StreamSupport.stream(new LineSpliterator<T>(chunk, reader), false))
+                    .onClose(() -> closeQuietly(opened));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 在指定的 fork-join 线程池中并行解析文件的所有行</p>
+     * @param file NDJSON文件
+     * @param type 每行的类型
+     * @param pool 解析使用的线程池，为null时使用公共线程池
+     * @param <T> 每行的类型
+     * @return 按行的顺序排列的结果
+     */
+    public <T> List<T> read(Path file, JavaType type, ForkJoinPool pool) {
+        try (Stream<T> lines = stream(file, type)) {
+            if (null == pool) {
+                return lines.collect(Collectors.toList());
+            }
+            return pool.submit(() -> lines.collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + file, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 顺序解析输入流中的每一行，适用于网络流等无法切分的输入</p>
+     * @param in 输入流，关闭流时不关闭
+     * @param type 每行的类型
+     * @param <T> 每行的类型
+     * @return 顺序流，应在 try-with-resources 中使用
+     */
+    public <T> Stream<T> stream(InputStream in, JavaType type) {
+        return StreamSupport.stream(new StreamSpliterator<T>(in, mapper.readerFor(type)), false);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 将流中的每个元素序列化为一行写入输出流，直接写入缓冲的输出流，不生成中间字符串</p>
+     * @param values 要写入的元素，按遇到的顺序写入
+     * @param out 输出流，写完后刷新但不关闭
+     * @return 写入的行数
+     */
+    public long write(Stream<?> values, OutputStream out) {
+        //逐行刷新会使缓冲失效，只在写完后刷新一次
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        OutputStream buffered = new BufferedOutputStream(out, WRITE_BUFFER);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(buffered, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            //根值之间默认以空格分隔，改为每行之后写换行符
+            generator.setRootValueSeparator(null);
+            long[] count = {0};
+            values.forEachOrdered(value -> {
+                try {
+                    writer.writeValue(generator, value);
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 将流中的每个元素序列化为一行写入文件，文件已存在时覆盖</p>
+     * @param values 要写入的元素
+     * @param file 目标文件
+     * @return 写入的行数
+     */
+    public long write(Stream<?> values, Path file) {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return write(values, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:32</p>
+     * <p>Desp: 从指定位置向后查找换行符，返回其后一个字节的位置，作为块的边界</p>
+     */
+    private static long lineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if ('\n' == buffer.get(i)) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (null == closeable) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            //忽略关闭异常
+        }
+    }
+
+    /**
+     * 文件中以换行符结束的一段字节，解析时才做内存映射
+     */
+    private static class Chunk {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final ByteBuffer buffer;
+
+        private Chunk(FileChannel channel, long start, long end, ByteBuffer buffer) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.buffer = buffer;
+        }
+
+        private ByteBuffer open() throws IOException {
+            return null != buffer ? buffer : channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+
+        /**
+         * 文件中位于块之前的行数，只在出错时计算
+         */
+        private long linesBefore() throws IOException {
+            long count = 0;
+            ByteBuffer read = ByteBuffer.allocate(8192);
+            for (long position = 0; position < start; ) {
+                read.clear();
+                read.limit((int) Math.min(read.capacity(), start - position));
+                int n = channel.read(read, position);
+                if (n <= 0) {
+                    break;
+                }
+                for (int i = 0; i < n; i++) {
+                    count += '\n' == read.get(i) ? 1 : 0;
+                }
+                position += n;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 22:48</p>
+     * <p>Desp: 解析一行，一行中只能有一个json值</p>
+     * @return 解析结果，空白行返回 BLANK
+     */
+    private static Object readLine(ObjectReader reader, byte[] bytes, int offset, int length) throws IOException {
+        try (JsonParser parser = reader.getFactory().createParser(bytes, offset, length)) {
+            if (null == parser.nextToken()) {
+                return BLANK;
+            }
+            Object value = reader.readValue(parser);
+            if (null != parser.nextToken()) {
+                throw new JsonParseException(parser, "Unexpected content after the JSON value");
+            }
+            return value;
+        }
+    }
+
+    private static UncheckedIOException invalidLine(long line, long lineOffset, JsonProcessingException e) {
+        long offset = null == e.getLocation() || e.getLocation().getByteOffset() < 0 ? 0 : e.getLocation().getByteOffset();
+        return new UncheckedIOException(new IOException("Invalid JSON at line " + line + ", offset " + (lineOffset + offset)
+                + ": " + e.getOriginalMessage(), e));
+    }
+
+    /**
+     * 按顺序逐行解析一个块，块总是在换行符之后结束
+     */
+    private static class LineSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Chunk chunk;
+        private final ObjectReader reader;
+        private ByteBuffer buffer;
+        //下一行在块中的起始位置
+        private int position;
+        //块中已读取的行数
+        private long lines;
+        //直接内存的缓冲区中复制出的一行
+        private byte[] copy;
+
+        private LineSpliterator(Chunk chunk, ObjectReader reader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.chunk = chunk;
+            this.reader = reader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (null == buffer) {
+                    buffer = chunk.open();
+                }
+                int limit = buffer.limit();
+                while (position < limit) {
+                    int start = position;
+                    int end = start;
+                    while (end < limit && '\n' != buffer.get(end)) {
+                        end++;
+                    }
+                    position = end + 1;
+                    lines++;
+                    Object value;
+                    try {
+                        value = buffer.hasArray()
+                                ? readLine(reader, buffer.array(), buffer.arrayOffset() + start, end - start)
+                                : readLine(reader, copy(start, end - start), 0, end - start);
+                    } catch (JsonProcessingException e) {
+                        throw invalidLine(chunk.linesBefore() + lines, chunk.start + start, e);
+                    }
+                    if (BLANK != value) {
+                        action.accept((T) value);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] copy(int start, int length) {
+            if (null == copy || copy.length < length) {
+                copy = new byte[Math.max(length, 8192)];
+            }
+            ByteBuffer line = buffer.duplicate();
+            line.position(start);
+            line.get(copy, 0, length);
+            return copy;
+        }
+    }
+
+    /**
+     * 从输入流中按换行符读取并逐行解析
+     */
+    private static class StreamSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final InputStream in;
+        private final ObjectReader reader;
+        private final byte[] buffer = new byte[READ_BUFFER];
+        //buffer 中未处理内容的起止位置
+        private int position;
+        private int limit;
+        //当前行，一行跨越多次读取时在此拼接
+        private byte[] line = new byte[8192];
+        private int length;
+        //已读取的行数和当前行在流中的字节偏移
+        private long lines;
+        private long offset;
+        private boolean eof;
+
+        private StreamSpliterator(InputStream in, ObjectReader reader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.in = in;
+            this.reader = reader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                while (nextLine()) {
+                    Object value;
+                    try {
+                        value = readLine(reader, line, 0, length);
+                    } catch (JsonProcessingException e) {
+                        throw invalidLine(lines, offset, e);
+                    }
+                    if (BLANK != value) {
+                        action.accept((T) value);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 读取下一行到 line 中，不含换行符
+         * @return 已到流的末尾时返回false
+         */
+        private boolean nextLine() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (lines > 0) {
+                //跳过上一行及其换行符
+                offset += length + 1;
+            }
+            length = 0;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit < 0) {
+                        //最后一行没有换行符，为空时作为空白行忽略
+                        limit = 0;
+                        eof = true;
+                        lines++;
+                        return true;
+                    }
+                }
+                int end = position;
+                while (end < limit && '\n' != buffer[end]) {
+                    end++;
+                }
+                append(position, end - position);
+                if (end < limit) {
+                    position = end + 1;
+                    lines++;
+                    return true;
+                }
+                position = end;
+            }
+        }
+
+        private void append(int from, int count) {
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+            }
+            System.arraycopy(buffer, from, line, length, count);
+            length += count;
+        }
+    }
+}
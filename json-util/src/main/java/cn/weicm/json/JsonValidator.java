@@ -0,0 +1,266 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:36</p>
+ * <p>Desp: 流式json校验器：只读取词法单元，不生成属性值对象，可限制嵌套深度和大小，校验失败时返回出错位置；配置完成后线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 根值之后除空白外不能有其他内容；默认要求根值为对象或数组，与 UJson.isValid 的语义一致</p>
+ */
+public class JsonValidator {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    //最大嵌套深度，小于等于0表示不限制
+    private int maxDepth = 0;
+    //最大长度，字符串按字符数，其余按字节数，小于等于0表示不限制
+    private long maxSize = 0;
+    //是否要求根值为对象或数组
+    private boolean requireContainer = true;
+
+    public static JsonValidator create() {
+        return new JsonValidator();
+    }
+
+    public JsonValidator maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public JsonValidator maxSize(long maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public JsonValidator requireContainer(boolean requireContainer) {
+        this.requireContainer = requireContainer;
+        return this;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 校验json字符串</p>
+     * @param json json字符串
+     * @return 校验结果，出错位置为字符偏移
+     */
+    public Result validate(String json) {
+        if (null == json) {
+            return Result.error(0, "No content");
+        }
+        if (maxSize > 0 && json.length() > maxSize) {
+            return Result.error(maxSize, "Size exceeds " + maxSize);
+        }
+        try {
+            return validate(FACTORY.createParser(json));
+        } catch (IOException e) {
+            return Result.error(-1, e.getMessage());
+        }
+    }
+
+    public Result validate(byte[] json) {
+        return null == json ? Result.error(0, "No content") : validate(json, 0, json.length);
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 校验字节数组的一部分，直接解析UTF-8字节</p>
+     * @param json UTF-8/UTF-16/UTF-32 编码的json字节
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 校验结果，出错位置为相对 offset 的字节偏移
+     */
+    public Result validate(byte[] json, int offset, int length) {
+        if (null == json) {
+            return Result.error(0, "No content");
+        }
+        if (maxSize > 0 && length > maxSize) {
+            return Result.error(maxSize, "Size exceeds " + maxSize);
+        }
+        try {
+            return validate(FACTORY.createParser(json, offset, length));
+        } catch (IOException e) {
+            return Result.error(-1, e.getMessage());
+        }
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 校验字节缓冲区 position 到 limit 之间的内容，不改变缓冲区的位置</p>
+     * @param json json字节缓冲区
+     * @return 校验结果，出错位置为相对 position 的字节偏移
+     */
+    public Result validate(ByteBuffer json) {
+        if (null == json) {
+            return Result.error(0, "No content");
+        }
+        if (json.hasArray()) {
+            return validate(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        if (maxSize > 0 && json.remaining() > maxSize) {
+            return Result.error(maxSize, "Size exceeds " + maxSize);
+        }
+        return validate(new ByteBufferBackedInputStream(json.duplicate()));
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:36</p>
+     * <p>Desp: 校验输入流，读到根值结束后的末尾；超过最大长度时立即停止读取；不关闭输入流</p>
+     * @param json json输入流
+     * @return 校验结果，出错位置为字节偏移
+     */
+    public Result validate(InputStream json) {
+        if (null == json) {
+            return Result.error(0, "No content");
+        }
+        try {
+            JsonParser parser = FACTORY.createParser(maxSize > 0 ? new LimitedInputStream(json, maxSize) : json);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return validate(parser);
+        } catch (SizeLimitException e) {
+            //创建解析器时会预读内容以检测编码
+            return Result.error(maxSize, "Size exceeds " + maxSize);
+        } catch (IOException e) {
+            return Result.error(-1, e.getMessage());
+        }
+    }
+
+    private Result validate(JsonParser parser) {
+        try (JsonParser p = parser) {
+            JsonToken token = p.nextToken();
+            if (null == token) {
+                return Result.error(0, "No content");
+            }
+            if (requireContainer && !token.isStructStart()) {
+                return Result.error(offset(p.getTokenLocation()), "Root value is not an object or array");
+            }
+            int depth = 0;
+            while (null != token) {
+                if (token.isStructStart()) {
+                    if (++depth > maxDepth && maxDepth > 0) {
+                        return Result.error(offset(p.getTokenLocation()), "Depth exceeds " + maxDepth);
+                    }
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (0 == depth) {
+                    break;
+                }
+                token = p.nextToken();
+            }
+            if (null != p.nextToken()) {
+                return Result.error(offset(p.getTokenLocation()), "Unexpected content after root value");
+            }
+            return Result.VALID;
+        } catch (SizeLimitException e) {
+            return Result.error(maxSize, "Size exceeds " + maxSize);
+        } catch (JsonProcessingException e) {
+            return Result.error(offset(e.getLocation()), e.getOriginalMessage());
+        } catch (IOException e) {
+            return Result.error(-1, e.getMessage());
+        }
+    }
+
+    private static long offset(JsonLocation location) {
+        if (null == location) {
+            return -1;
+        }
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    /**
+     * 校验结果
+     */
+    public static class Result {
+        private static final Result VALID = new Result(true, -1, null);
+
+        private final boolean valid;
+        private final long offset;
+        private final String message;
+
+        private Result(boolean valid, long offset, String message) {
+            this.valid = valid;
+            this.offset = offset;
+            this.message = message;
+        }
+
+        private static Result error(long offset, String message) {
+            return new Result(false, offset, message);
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        /**
+         * 出错位置，合法或位置未知时为-1
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return valid ? "Result{valid}" : "Result{invalid, offset=" + offset + ", message=" + message + "}";
+        }
+    }
+
+    /**
+     * 读取超过最大长度时抛出 SizeLimitException 的输入流
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws SizeLimitException {
+            count += read;
+            if (count > limit) {
+                throw new SizeLimitException();
+            }
+        }
+    }
+
+    private static class SizeLimitException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+}
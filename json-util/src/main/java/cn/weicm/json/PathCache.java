@@ -0,0 +1,92 @@
+package cn.weicm.json;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 21:26</p>
+ * <p>Desp: 编译后的 JsonPath 缓存：以 path 表达式为键，命中时无锁读取；线程安全</p>
+ * <p>&nbsp;&nbsp;&nbsp;&nbsp; 容量有上限，已满时淘汰任意一个已有表达式，适合表达式集合固定的场景；JsonPath 编译后不可变，可在线程间共享</p>
+ */
+public class PathCache {
+    private final int maxSize;
+    private final Map<String, JsonPath> paths = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PathCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:26</p>
+     * <p>Desp: 获取编译后的 JsonPath，未命中时编译并放入缓存</p>
+     * @param path path表达式
+     * @return 编译后的 JsonPath
+     * @throws com.jayway.jsonpath.InvalidPathException 表达式非法
+     */
+    public JsonPath get(String path) {
+        JsonPath compiled = paths.get(path);
+        if (null != compiled) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        compiled = JsonPath.compile(path);
+        if (paths.size() >= maxSize) {
+            Iterator<String> keys = paths.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        }
+        JsonPath previous = paths.putIfAbsent(path, compiled);
+        return null != previous ? previous : compiled;
+    }
+
+    public void clear() {
+        paths.clear();
+    }
+
+    public int size() {
+        return paths.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * <p>Author: weicm</p>
+     * <p>Date: 2026/10/17 21:26</p>
+     * <p>Desp: 命中率，持续低于预期时说明表达式是动态拼接的或容量不足</p>
+     * @return 命中次数占查询次数的比例，未查询时为0
+     */
+    public double getHitRate() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return 0 == total ? 0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "PathCache{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ", hitRate=" + String.format("%.4f", getHitRate()) + "}";
+    }
+}
@@ -0,0 +1,97 @@
+package cn.weicm;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:19</p>
+ * <p>Desp: UJson 字节、字节缓冲区、输入流的重载：与字符串重载结果一致，不改变缓冲区位置，不关闭输入流</p>
+ */
+public class UJsonBytesTest {
+    private static final String JSON = "{\"name\":\"名称\",\"ids\":[1,2,3],\"nested\":{\"ok\":true}}";
+    private static final byte[] BYTES = JSON.getBytes(StandardCharsets.UTF_8);
+    private static final TypeRef<List<Integer>> IDS = new TypeRef<List<Integer>>() {
+    };
+
+    @Test
+    public void byteOverloadsMatchString() {
+        assertEquals(UJson.compile(JSON), UJson.compile(BYTES));
+        assertEquals("名称", UJson.parse(BYTES, "$.name", String.class));
+        assertEquals(Arrays.asList(1, 2, 3), UJson.parse(BYTES, "$.ids", IDS));
+        assertEquals(Boolean.TRUE, UJson.parse(new ByteArrayInputStream(BYTES), "$.nested.ok", Boolean.class));
+        assertEquals(Arrays.asList(1, 2, 3), UJson.parse(new ByteArrayInputStream(BYTES), "$.ids", IDS));
+        assertTrue(UJson.isValid(BYTES));
+    }
+
+    @Test
+    public void offsetAndLengthSelectPartOfArray() {
+        byte[] padded = ("xx" + JSON + "yy").getBytes(StandardCharsets.UTF_8);
+        assertEquals(UJson.compile(JSON), UJson.compile(padded, 2, BYTES.length));
+        assertTrue(UJson.isValid(padded, 2, BYTES.length));
+        assertFalse(UJson.isValid(padded, 0, BYTES.length));
+    }
+
+    @Test
+    public void heapAndDirectBuffersKeepPosition() {
+        byte[] padded = ("xx" + JSON).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.wrap(padded);
+        heap.position(2);
+        ByteBuffer slice = heap.slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(BYTES.length);
+        direct.put(BYTES).flip();
+
+        for (ByteBuffer buffer : Arrays.asList(heap, slice, direct)) {
+            int position = buffer.position();
+            assertEquals("名称", UJson.parse(buffer, "$.name", String.class));
+            assertEquals(Arrays.asList(1, 2, 3), UJson.parse(buffer, "$.ids", IDS));
+            assertTrue(UJson.isValid(buffer));
+            assertEquals(position, buffer.position());
+        }
+    }
+
+    @Test
+    public void inputStreamIsNotClosed() {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayInputStream in = new ByteArrayInputStream(BYTES) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertEquals(UJson.compile(JSON), UJson.compile(in));
+        assertFalse(closed.get());
+    }
+
+    @Test
+    public void otherUnicodeEncodingsAreDetected() {
+        assertEquals("名称", UJson.parse(JSON.getBytes(StandardCharsets.UTF_16BE), "$.name", String.class));
+        assertEquals("名称", UJson.parse(JSON.getBytes(StandardCharsets.UTF_16LE), "$.name", String.class));
+    }
+
+    @Test
+    public void emptyAndInvalidInput() {
+        assertNull(UJson.compile((byte[]) null));
+        assertNull(UJson.compile(new byte[0]));
+        assertNull(UJson.compile(ByteBuffer.allocate(0)));
+        assertNull(UJson.parse(" ".getBytes(StandardCharsets.UTF_8), "$.name", String.class));
+        assertNull(UJson.parse(BYTES, "$.missing", String.class));
+        assertThrows(InvalidJsonException.class, () -> UJson.compile("{\"a\":".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(UJson.isValid("{\"a\":".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(UJson.isValid(new ByteArrayInputStream("[1,]".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,95 @@
+package cn.weicm;
+
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:17</p>
+ * <p>Desp: UJson 流式数组迭代：输入流、Reader、文件，文件在迭代结束或创建失败时关闭，输入流不关闭</p>
+ */
+public class UJsonIterateTest {
+    private static final String JSON = "{\"meta\":{\"n\":3},\"rows\":[{\"id\":1,\"x\":\"a\"},{\"id\":2},{\"id\":3}]}";
+    private static final TypeRef<Map<String, Object>> ROW = new TypeRef<Map<String, Object>>() {
+    };
+
+    /**
+     * 当前进程中打开指定文件的描述符数，只支持 Linux
+     */
+    private static long openCount(Path file) throws IOException {
+        Path fds = Paths.get("/proc/self/fd");
+        assumeTrue(Files.isDirectory(fds));
+        Path target = file.toRealPath();
+        try (Stream<Path> list = Files.list(fds)) {
+            return list.filter(fd -> {
+                try {
+                    return target.equals(Files.readSymbolicLink(fd));
+                } catch (IOException e) {
+                    return false;
+                }
+            }).count();
+        }
+    }
+
+    @Test
+    public void iteratesInputStreamWithoutClosingIt() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream in = new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        try (Stream<Map<String, Object>> rows = UJson.stream(in, "$.rows", ROW)) {
+            assertEquals(Arrays.asList(1, 2, 3), rows.map(r -> r.get("id")).collect(Collectors.toList()));
+        }
+        assertFalse(closed.get());
+    }
+
+    @Test
+    public void iteratesReader() {
+        List<Integer> ids = UJson.stream(new StringReader("[1,2,3]"), "$", new TypeRef<Integer>() {
+        }).collect(Collectors.toList());
+        assertEquals(Arrays.asList(1, 2, 3), ids);
+    }
+
+    @Test
+    public void fileIsClosedAfterIteration(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rows.json");
+        Files.write(file, JSON.getBytes(StandardCharsets.UTF_8));
+        try (Stream<Map<String, Object>> rows = UJson.stream(file, "$.rows", ROW)) {
+            assertEquals(3, rows.count());
+        }
+        assertEquals(0, openCount(file));
+    }
+
+    @Test
+    public void fileIsClosedWhenIteratorCannotBeCreated(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rows.json");
+        Files.write(file, JSON.getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> UJson.iterate(file, "$..rows", ROW));
+        assertThrows(IllegalArgumentException.class, () -> UJson.iterate(file, "$.meta", ROW));
+        assertEquals(0, openCount(file));
+    }
+}
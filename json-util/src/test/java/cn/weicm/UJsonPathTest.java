@@ -0,0 +1,52 @@
+package cn.weicm;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:15</p>
+ * <p>Desp: UJson path 表达式缓存：字符串与编译后表达式的解析结果一致，重复使用时命中缓存</p>
+ */
+public class UJsonPathTest {
+    private static final String JSON = "{\"a\":{\"b\":[1,2,3]},\"name\":\"n\"}";
+
+    @Test
+    public void pathHandleIsCached() {
+        JsonPath path = UJson.path("$.a.b");
+        assertSame(path, UJson.path("$.a.b"));
+        long hits = UJson.pathCache().getHits();
+        UJson.parse(JSON, "$.a.b", new TypeRef<List<Integer>>() {
+        });
+        assertTrue(UJson.pathCache().getHits() > hits);
+    }
+
+    @Test
+    public void stringAndCompiledPathAgree() {
+        JsonPath path = UJson.path("$.a.b");
+        List<Integer> expected = Arrays.asList(1, 2, 3);
+        assertEquals(expected, UJson.parse(JSON, "$.a.b", new TypeRef<List<Integer>>() {
+        }));
+        assertEquals(expected, UJson.parse(JSON, path, new TypeRef<List<Integer>>() {
+        }));
+        assertEquals("n", UJson.parse(JSON, UJson.path("$.name"), String.class));
+        Object doc = UJson.compile(JSON);
+        assertEquals(Integer.valueOf(2), UJson.parse(doc, UJson.path("$.a.b[1]")));
+        assertEquals(Integer.valueOf(2), UJson.<Integer>parse(doc, "$.a.b[1]"));
+    }
+
+    @Test
+    public void blankJsonParsesToNull() {
+        assertNull(UJson.parse(" ", UJson.path("$.a"), String.class));
+        assertNull(UJson.parse((Object) null, UJson.path("$.a")));
+    }
+}
@@ -0,0 +1,158 @@
+package cn.weicm;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jayway.jsonpath.InvalidJsonException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:23</p>
+ * <p>Desp: UJson 直接序列化到输出流、字符流、缓冲区和字节：与 str 结果一致，不关闭输出，失败时不输出看似完整的json</p>
+ */
+public class UJsonWriteTest {
+
+    @JsonPropertyOrder({"name", "items", "broken"})
+    public static class Broken {
+        public String getName() {
+            return "n";
+        }
+
+        public List<Integer> getItems() {
+            return Arrays.asList(1, 2);
+        }
+
+        public Map<String, Object> getBroken() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("ok", 1);
+            map.put("bad", new Object() {
+                public String getValue() {
+                    throw new IllegalStateException("broken getter");
+                }
+            });
+            return map;
+        }
+    }
+
+    /**
+     * 序列化时再次调用 UJson.bytes 的对象，占用线程本地缓冲区时应使用新的缓冲区
+     */
+    @JsonSerialize(using = NestedSerializer.class)
+    public static class Nested {
+        private final Object inner;
+
+        public Nested(Object inner) {
+            this.inner = inner;
+        }
+    }
+
+    public static class NestedSerializer extends JsonSerializer<Nested> {
+        @Override
+        public void serialize(Nested value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(new String(UJson.bytes(value.inner), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, Object> value() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "名称");
+        map.put("list", Arrays.asList(1, 2, 3));
+        map.put("nil", null);
+        return map;
+    }
+
+    @Test
+    public void allOutputsMatchStr() {
+        String expected = UJson.str(value());
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), UJson.bytes(value()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UJson.write(value(), out);
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        StringWriter writer = new StringWriter();
+        UJson.write(value(), writer);
+        assertEquals(expected, writer.toString());
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put((byte) '#');
+        int written = UJson.write(value(), buffer);
+        assertEquals(expected, new String(buffer.array(), 1, written, StandardCharsets.UTF_8));
+        assertEquals(1 + written, buffer.position());
+    }
+
+    @Test
+    public void nullAndLargeValues() {
+        assertNull(UJson.bytes(null));
+        StringWriter writer = new StringWriter();
+        UJson.write(null, writer);
+        assertEquals("null", writer.toString());
+
+        //超过线程本地缓冲区保留上限的对象
+        char[] chars = new char[200 * 1024];
+        Arrays.fill(chars, 'x');
+        String big = new String(chars);
+        assertEquals(UJson.str(Collections.singletonList(big)), new String(UJson.bytes(Collections.singletonList(big)), StandardCharsets.UTF_8));
+        assertEquals("[1]", new String(UJson.bytes(Collections.singletonList(1)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void outputStreamIsNotClosed() {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        UJson.write(value(), out);
+        assertFalse(closed.get());
+    }
+
+    @Test
+    public void bufferOverflowWritesNothing() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        assertThrows(BufferOverflowException.class, () -> UJson.write(value(), buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void reentrantSerializationUsesSeparateBuffer() {
+        String json = new String(UJson.bytes(Collections.singletonMap("k", new Nested(Arrays.asList(1, 2)))), StandardCharsets.UTF_8);
+        assertEquals("{\"k\":\"[1,2]\"}", json);
+    }
+
+    @Test
+    public void failedWriteDoesNotLookComplete() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(InvalidJsonException.class, () -> UJson.write(new Broken(), out));
+        String partial = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertFalse(UJson.isValid(partial), partial);
+
+        StringWriter writer = new StringWriter();
+        assertThrows(InvalidJsonException.class, () -> UJson.write(new Broken(), writer));
+        assertFalse(UJson.isValid(writer.toString()), writer.toString());
+    }
+}
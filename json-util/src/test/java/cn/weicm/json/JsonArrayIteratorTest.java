@@ -0,0 +1,109 @@
+package cn.weicm.json;
+
+import cn.weicm.UJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:17</p>
+ * <p>Desp: JsonArrayIterator：按路径定位数组并逐个绑定元素，路径不存在、不是数组、不支持的路径</p>
+ */
+public class JsonArrayIteratorTest {
+
+    private static JsonArrayIterator<Object> iterator(String json, String path) throws IOException {
+        JsonParser parser = UJson.mapper().getFactory().createParser(json);
+        return new JsonArrayIterator<>(parser, path, UJson.mapper().readerFor(Object.class));
+    }
+
+    private static List<Object> drain(JsonArrayIterator<Object> iterator) {
+        List<Object> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+
+    @Test
+    public void iteratesNestedArray() throws IOException {
+        String json = "{\"skip\":{\"x\":[1,2]},\"data\":{\"rows\":[{\"id\":1},{\"id\":2},3,null,[4]]},\"after\":1}";
+        List<Object> values = drain(iterator(json, "$.data.rows"));
+        assertEquals(5, values.size());
+        assertEquals(1, ((Map<?, ?>) values.get(0)).get("id"));
+        assertEquals(3, values.get(2));
+        assertEquals(null, values.get(3));
+        assertEquals(Arrays.asList(4), values.get(4));
+    }
+
+    @Test
+    public void iteratesTopLevelAndIndexedArray() throws IOException {
+        assertEquals(Arrays.asList(1, 2, 3), drain(iterator("[1,2,3]", "$")));
+        assertEquals(Arrays.asList("b"), drain(iterator("[[\"a\"],[\"b\"]]", "$[1]")));
+        assertEquals(Arrays.asList(), drain(iterator("{\"a\":[]}", "$.a")));
+    }
+
+    @Test
+    public void missingOrNullPathHasNoElements() throws IOException {
+        assertFalse(iterator("{\"a\":[1]}", "$.b").hasNext());
+        assertFalse(iterator("{\"a\":null}", "$.a").hasNext());
+        assertFalse(iterator("[[1]]", "$[3]").hasNext());
+        assertFalse(iterator("", "$").hasNext());
+    }
+
+    @Test
+    public void nonArrayAndUnsupportedPathAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> iterator("{\"a\":{\"b\":1}}", "$.a"));
+        assertThrows(IllegalArgumentException.class, () -> iterator("{\"a\":[1]}", "$..a"));
+    }
+
+    @Test
+    public void nextAfterEndThrows() throws IOException {
+        JsonArrayIterator<Object> it = iterator("[1]", "$");
+        assertEquals(1, it.next());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void malformedElementFailsWithUncheckedIOException() throws IOException {
+        JsonArrayIterator<Object> it = iterator("[1, {\"a\" 2}]", "$");
+        assertEquals(1, it.next());
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            it.hasNext();
+            it.next();
+        });
+        assertTrue(e.getCause() instanceof IOException);
+        it.close();
+    }
+
+    @Test
+    public void bindingErrorKeepsCause() throws IOException {
+        JsonParser parser = UJson.mapper().getFactory().createParser("[\"x\"]");
+        JsonArrayIterator<Integer> it = new JsonArrayIterator<>(parser, "$", UJson.mapper().readerFor(Integer.class));
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, it::next);
+        assertInstanceOf(JsonMappingException.class, e.getCause());
+    }
+
+    @Test
+    public void closingStreamClosesParser() throws IOException {
+        JsonParser parser = UJson.mapper().getFactory().createParser("[1,2,3]");
+        JsonArrayIterator<Object> it = new JsonArrayIterator<>(parser, "$", UJson.mapper().readerFor(Object.class));
+        assertEquals(Integer.valueOf(1), it.stream().findFirst().orElse(null));
+        it.stream().close();
+        assertTrue(parser.isClosed());
+        assertFalse(it.hasNext());
+    }
+}
@@ -0,0 +1,107 @@
+package cn.weicm.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:22</p>
+ * <p>Desp: JsonCodec：构造器的包含规则、特性、模块和自定义配置，reader、writer 缓存，直接绑定，JsonPath 配置</p>
+ */
+public class JsonCodecTest {
+
+    public static class Item {
+        public String name;
+        public Integer count;
+        public Long id;
+
+        public Item() {
+        }
+
+        public Item(String name, Integer count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    @Test
+    public void builderAppliesInclusionFeaturesModulesAndCustomizers() {
+        AtomicInteger customized = new AtomicInteger();
+        JsonCodec codec = JsonCodec.builder()
+                .inclusion(JsonInclude.Include.NON_NULL)
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true)
+                .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+                .module(new SimpleModule().addSerializer(Long.class, ToStringSerializer.instance))
+                .customize(m -> customized.incrementAndGet())
+                .build();
+
+        Item item = new Item("a", null);
+        item.id = 7L;
+        assertEquals("{\"name\":\"a\",\"id\":\"7\"}", codec.str(item));
+        Item parsed = codec.parse("{'name':'b','unknown':1}", Item.class);
+        assertEquals("b", parsed.name);
+        assertEquals(1, customized.get());
+    }
+
+    @Test
+    public void defaultsFailOnUnknownPropertiesAndIncludeNulls() {
+        JsonCodec codec = JsonCodec.builder().build();
+        assertEquals("{\"name\":\"a\",\"count\":null,\"id\":null}", codec.str(new Item("a", null)));
+        assertThrows(InvalidJsonException.class, () -> codec.parse("{\"unknown\":1}", Item.class));
+    }
+
+    @Test
+    public void readersAndWritersAreCached() {
+        JsonCodec codec = JsonCodec.builder().build();
+        assertSame(codec.writer(Item.class), codec.writer(Item.class));
+        assertSame(codec.reader(Item.class), codec.reader(Item.class));
+        assertSame(codec.reader(new TypeRef<List<Item>>() {
+        }), codec.reader(new TypeRef<List<Item>>() {
+        }));
+    }
+
+    @Test
+    public void parseBindsDirectly() {
+        JsonCodec codec = JsonCodec.builder().build();
+        List<Item> items = codec.parse("[{\"name\":\"a\",\"count\":1},{\"name\":\"b\"}]", new TypeRef<List<Item>>() {
+        });
+        assertEquals(2, items.size());
+        assertEquals(Integer.valueOf(1), items.get(0).count);
+        assertEquals("b", items.get(1).name);
+        assertNull(codec.parse("  ", Item.class));
+        assertNull(codec.str(null));
+        assertThrows(InvalidJsonException.class, () -> codec.parse("{\"name\":", Item.class));
+    }
+
+    @Test
+    public void configurationSuppressesPathExceptions() {
+        JsonCodec codec = JsonCodec.builder().build();
+        Object doc = codec.configuration().jsonProvider().parse("{\"a\":{\"b\":[1,2]}}");
+        assertEquals(Arrays.asList(1, 2), JsonPath.using(codec.configuration()).parse(doc).read("$.a.b"));
+        assertNull(JsonPath.using(codec.configuration()).parse(doc).read("$.x.y"));
+        Map<String, Object> map = JsonPath.using(codec.configuration()).parse(doc).read("$", new TypeRef<Map<String, Object>>() {
+        });
+        assertEquals(1, map.size());
+    }
+}
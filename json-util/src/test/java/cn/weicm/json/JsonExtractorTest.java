@@ -0,0 +1,111 @@
+package cn.weicm.json;
+
+import cn.weicm.UJson;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:16</p>
+ * <p>Desp: JsonExtractor：流式提取与 JsonPath 计算结果一致，不存在的路径为null，取完所有路径后不再读取</p>
+ */
+public class JsonExtractorTest {
+    private static final String JSON = "{\"id\":7,\"user\":{\"name\":\"n\",\"tags\":[\"x\",\"y\"],\"addr\":{\"city\":\"c\"}},"
+            + "\"items\":[{\"sku\":\"a\",\"qty\":1},{\"sku\":\"b\",\"qty\":2}],\"skip\":{\"deep\":[1,2,3]},\"id2\":null}";
+
+    private static Map<String, String> paths(String... namesAndPaths) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            paths.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return paths;
+    }
+
+    @Test
+    public void streamingMatchesJsonPath() {
+        Map<String, String> paths = paths("id", "$.id", "name", "$.user.name", "tag", "$.user.tags[1]",
+                "city", "$['user']['addr'].city", "user", "$.user", "qty", "$.items[1].qty", "nil", "$.id2");
+        JsonExtractor extractor = JsonExtractor.compile(paths);
+        assertTrue(extractor.isStreaming());
+
+        Map<String, Object> result = extractor.extract(JSON);
+        assertEquals(new ArrayList<>(paths.keySet()), new ArrayList<>(result.keySet()));
+        Object doc = UJson.compile(JSON);
+        for (Map.Entry<String, String> entry : paths.entrySet()) {
+            assertEquals(UJson.<Object>parse(doc, entry.getValue()), result.get(entry.getKey()), entry.getKey());
+        }
+        assertEquals(Integer.valueOf(7), result.get("id"));
+        assertEquals("y", result.get("tag"));
+        assertEquals("c", result.get("city"));
+    }
+
+    @Test
+    public void missingAndMismatchedPathsAreNull() {
+        Map<String, Object> result = UJson.extract(JSON, paths("missing", "$.nope", "index", "$.items[5].sku",
+                "mismatch", "$.id.x", "arrayAsObject", "$.items.sku", "found", "$.items[0].sku"));
+        assertNull(result.get("missing"));
+        assertNull(result.get("index"));
+        assertNull(result.get("mismatch"));
+        assertNull(result.get("arrayAsObject"));
+        assertEquals("a", result.get("found"));
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    public void complexPathsFallBackToJsonPath() {
+        JsonExtractor extractor = UJson.extractor(paths("skus", "$.items[*].sku", "id", "$.id"));
+        assertFalse(extractor.isStreaming());
+        Map<String, Object> result = extractor.extract(JSON);
+        assertEquals(Arrays.asList("a", "b"), result.get("skus"));
+        assertEquals(Integer.valueOf(7), result.get("id"));
+        assertEquals(result, extractor.extract(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void stopsReadingOnceAllPathsResolved() {
+        //路径都取到后如果继续读取，会读到抛出异常的流
+        byte[] head = "{\"a\":1,\"b\":{\"c\":2},\"tail\":[".getBytes(StandardCharsets.UTF_8);
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("read past resolved paths");
+            }
+        };
+        InputStream in = new SequenceInputStream(new ByteArrayInputStream(head), failing);
+        Map<String, Object> result = JsonExtractor.compile(paths("a", "$.a", "c", "$.b.c")).extract(in);
+        assertEquals(Integer.valueOf(1), result.get("a"));
+        assertEquals(Integer.valueOf(2), result.get("c"));
+    }
+
+    @Test
+    public void blankJsonReturnsNull() {
+        assertNull(UJson.extract("  ", Collections.singletonMap("a", "$.a")));
+    }
+
+    @Test
+    public void segmentsRecognizeSimplePathsOnly() {
+        assertEquals(Arrays.<Object>asList("a", 0, "b c"), JsonExtractor.segments("$.a[0]['b c']"));
+        List<Object> root = JsonExtractor.segments("$");
+        assertTrue(root.isEmpty());
+        assertNull(JsonExtractor.segments("$..a"));
+        assertNull(JsonExtractor.segments("$.a.*"));
+        assertNull(JsonExtractor.segments("$.a[-1]"));
+        assertNull(JsonExtractor.segments("$.a[?(@.b)]"));
+    }
+}
@@ -0,0 +1,136 @@
+package cn.weicm.json;
+
+import cn.weicm.UJson;
+import com.jayway.jsonpath.InvalidJsonException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:21</p>
+ * <p>Desp: JsonFormatter：缩进与换行、被排除属性写在一行内、逗号不换行、数字原文与字符串转义、深层嵌套、各种输入输出</p>
+ */
+public class JsonFormatterTest {
+    private static final String JSON = "{\"a\":1,\"b\":[1,2],\"c\":{},\"d\":{\"e\":[]}}";
+
+    @Test
+    public void defaultLayout() {
+        String expected = "{\n"
+                + "    \"a\": 1,\n"
+                + "    \"b\": [\n"
+                + "        1,\n"
+                + "        2\n"
+                + "    ],\n"
+                + "    \"c\": {},\n"
+                + "    \"d\": {\n"
+                + "        \"e\": []\n"
+                + "    }\n"
+                + "}";
+        assertEquals(expected, JsonFormatter.create().format(JSON));
+        assertEquals(expected, UJson.format(JSON));
+    }
+
+    @Test
+    public void excludedFieldsStayOnOneLine() {
+        String json = "{\"a\":{\"x\":[1,{\"y\":2}]},\"b\":[3,4],\"c\":5}";
+        String expected = "{\n"
+                + "    \"a\": {\"x\": [1, {\"y\": 2}]},\n"
+                + "    \"b\": [\n"
+                + "        3,\n"
+                + "        4\n"
+                + "    ],\n"
+                + "    \"c\": 5\n"
+                + "}";
+        assertEquals(expected, UJson.format(json, "a", "c"));
+    }
+
+    @Test
+    public void commaNewLineOffAndCustomIndent() {
+        String expected = "{\n"
+                + "  \"a\": 1, \"b\": [\n"
+                + "    1, 2\n"
+                + "  ],\n"
+                + "  \"c\": {},\n"
+                + "  \"d\": {\n"
+                + "    \"e\": []\n"
+                + "  }\n"
+                + "}";
+        assertEquals(expected, UJson.format(JSON, "  ", false));
+    }
+
+    @Test
+    public void numbersKeepTextAndStringsAreEscaped() {
+        String json = "[1.50,1e10,12345678901234567890123,\"a\\\"b\\n中\\u0001\"]";
+        String formatted = JsonFormatter.create().commaNewLine(false).format(json);
+        assertEquals("[\n    1.50, 1e10, 12345678901234567890123, \"a\\\"b\\n中\\u0001\"\n]", formatted);
+        assertEquals(UJson.compile(json), UJson.compile(formatted));
+    }
+
+    @Test
+    public void deepNestingBeyondCachedIndent() {
+        int levels = 100;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < levels; i++) {
+            sb.append('[');
+        }
+        sb.append('1');
+        for (int i = 0; i < levels; i++) {
+            sb.append(']');
+        }
+        String formatted = JsonFormatter.create().format(sb.toString());
+        StringBuilder indent = new StringBuilder("\n");
+        for (int i = 0; i < levels; i++) {
+            indent.append("    ");
+        }
+        assertTrue(formatted.contains(indent + "1\n"));
+        assertEquals(UJson.compile(sb.toString()), UJson.compile(formatted));
+    }
+
+    @Test
+    public void streamsAreNotClosed() {
+        AtomicBoolean inClosed = new AtomicBoolean();
+        AtomicBoolean outClosed = new AtomicBoolean();
+        ByteArrayInputStream in = new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                inClosed.set(true);
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outClosed.set(true);
+            }
+        };
+        UJson.format(in, out);
+        assertEquals(UJson.format(JSON), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse(inClosed.get());
+        assertFalse(outClosed.get());
+
+        StringWriter writer = new StringWriter();
+        UJson.format(new StringReader(JSON), writer, "d");
+        assertEquals(UJson.format(JSON, "d"), writer.toString());
+
+        StringBuilder sb = new StringBuilder("prefix:");
+        UJson.format(JSON, sb);
+        assertEquals("prefix:" + UJson.format(JSON), sb.toString());
+    }
+
+    @Test
+    public void blankAndInvalidJson() {
+        assertEquals("null", UJson.format(" "));
+        assertThrows(InvalidJsonException.class, () -> UJson.format("{\"a\":}"));
+        assertThrows(InvalidJsonException.class, () -> UJson.format("[1,2"));
+    }
+}
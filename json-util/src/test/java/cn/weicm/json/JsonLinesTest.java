@@ -0,0 +1,197 @@
+package cn.weicm.json;
+
+import cn.weicm.UJson;
+import com.jayway.jsonpath.TypeRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:19</p>
+ * <p>Desp: JsonLines：写入后读回、跨块的大文件保持行序、空白行、出错位置的字节偏移、输入流顺序读取</p>
+ */
+public class JsonLinesTest {
+    private static final TypeRef<Map<String, Object>> ROW = new TypeRef<Map<String, Object>>() {
+    };
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", i);
+        row.put("name", "名称-" + i);
+        return row;
+    }
+
+    @Test
+    public void writeThenReadSmallFile(@TempDir Path dir) {
+        Path file = dir.resolve("small.ndjson");
+        assertEquals(3, UJson.writeLines(IntStream.range(0, 3).mapToObj(JsonLinesTest::row), file));
+        try (Stream<Map<String, Object>> lines = UJson.lines(file, ROW)) {
+            assertEquals(Arrays.asList(0, 1, 2), lines.map(r -> r.get("id")).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void largeFileKeepsLineOrderAcrossChunks(@TempDir Path dir) throws IOException {
+        //超过内存映射阈值，按块并行解析
+        Path file = dir.resolve("large.ndjson");
+        int count = 150000;
+        UJson.writeLines(IntStream.range(0, count).mapToObj(JsonLinesTest::row), file);
+        assertTrue(Files.size(file) > 3 * 1024 * 1024);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        List<Map<String, Object>> rows;
+        try {
+            rows = UJson.jsonLines().read(file, UJson.type(ROW), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(count, rows.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, rows.get(i).get("id"));
+        }
+        assertEquals("名称-" + (count - 1), rows.get(count - 1).get("name"));
+    }
+
+    @Test
+    public void blankLinesAreIgnored(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("blank.ndjson");
+        Files.write(file, "\n{\"id\":1}\n\n  \r\n{\"id\":2}".getBytes(StandardCharsets.UTF_8));
+        try (Stream<Map<String, Object>> lines = UJson.lines(file, ROW)) {
+            assertEquals(2, lines.count());
+        }
+    }
+
+    @Test
+    public void invalidLineReportsLineAndFileOffset(@TempDir Path dir) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String line = UJson.str(row(0)) + "\n";
+        int count = 0;
+        while (sb.length() < 2 * 1024 * 1024 + 100) {
+            sb.append(line);
+            count++;
+        }
+        int badStart = sb.toString().getBytes(StandardCharsets.UTF_8).length;
+        sb.append("{\"id\":oops}\n");
+        sb.append(line);
+        Path file = dir.resolve("bad.ndjson");
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            try (Stream<Map<String, Object>> lines = UJson.lines(file, ROW)) {
+                lines.count();
+            }
+        });
+        Matcher matcher = Pattern.compile("line (\\d+), offset (\\d+)").matcher(e.getCause().getMessage());
+        assertTrue(matcher.find(), e.getCause().getMessage());
+        assertEquals(count + 1, Long.parseLong(matcher.group(1)));
+        long offset = Long.parseLong(matcher.group(2));
+        assertTrue(offset >= badStart && offset < badStart + 12, "offset " + offset + ", line at " + badStart);
+    }
+
+    private static String failure(Path file) {
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            try (Stream<Map<String, Object>> lines = UJson.lines(file, ROW)) {
+                lines.count();
+            }
+        });
+        return e.getCause().getMessage();
+    }
+
+    private static String failure(byte[] bytes) {
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            try (Stream<Map<String, Object>> lines = UJson.lines(new ByteArrayInputStream(bytes), ROW)) {
+                lines.count();
+            }
+        });
+        return e.getCause().getMessage();
+    }
+
+    @Test
+    public void multiLineValueIsRejectedForAnyFileSize(@TempDir Path dir) throws IOException {
+        String pretty = "{\n  \"id\": 1\n}\n";
+        Path small = dir.resolve("small.ndjson");
+        Files.write(small, ("{\"id\":0}\n" + pretty).getBytes(StandardCharsets.UTF_8));
+        assertTrue(failure(small).contains("line 2,"), failure(small));
+        assertTrue(failure(Files.readAllBytes(small)).contains("line 2,"));
+
+        //超过内存映射阈值，多行的值位于第一块的边界附近
+        StringBuilder sb = new StringBuilder();
+        String line = UJson.str(row(0)) + "\n";
+        int count = 0;
+        while (sb.length() < 1024 * 1024 - 4) {
+            sb.append(line);
+            count++;
+        }
+        sb.append(pretty);
+        while (sb.length() < 3 * 1024 * 1024) {
+            sb.append(line);
+        }
+        Path large = dir.resolve("large.ndjson");
+        Files.write(large, sb.toString().getBytes(StandardCharsets.UTF_8));
+        assertTrue(failure(large).contains("line " + (count + 1) + ","), failure(large));
+    }
+
+    @Test
+    public void twoValuesOnOneLineAreRejected(@TempDir Path dir) throws IOException {
+        byte[] bytes = "{\"id\":1}\n{\"id\":2} {\"id\":3}\n".getBytes(StandardCharsets.UTF_8);
+        Path file = dir.resolve("two.ndjson");
+        Files.write(file, bytes);
+        String message = failure(file);
+        assertTrue(message.contains("line 2,") && message.contains("Unexpected content"), message);
+        message = failure(bytes);
+        assertTrue(message.contains("line 2,") && message.contains("Unexpected content"), message);
+    }
+
+    @Test
+    public void inputStreamHandlesLongLinesCrlfAndMissingFinalNewline() {
+        char[] chars = new char[200 * 1024];
+        Arrays.fill(chars, 'x');
+        String big = new String(chars);
+        String text = "{\"name\":\"" + big + "\"}\r\n\r\n{\"id\":2}";
+        try (Stream<Map<String, Object>> lines = UJson.lines(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), ROW)) {
+            List<Map<String, Object>> rows = lines.collect(Collectors.toList());
+            assertEquals(2, rows.size());
+            assertEquals(big, rows.get(0).get("name"));
+            assertEquals(2, rows.get(1).get("id"));
+        }
+        String message = failure("{\"id\":1}\n\n{\"id\":".getBytes(StandardCharsets.UTF_8));
+        assertTrue(message.contains("line 3,"), message);
+    }
+
+    @Test
+    public void inputStreamIsReadSequentially() {
+        byte[] bytes = "{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8);
+        try (Stream<Map<String, Object>> lines = UJson.lines(new ByteArrayInputStream(bytes), ROW)) {
+            assertEquals(Arrays.asList(1, 2), lines.map(r -> r.get("id")).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void writeEndsEachValueWithNewline() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, UJson.writeLines(Stream.of(row(1), Arrays.asList(1, 2)), out));
+        assertEquals("{\"id\":1,\"name\":\"名称-1\"}\n[1,2]\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,128 @@
+package cn.weicm.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:20</p>
+ * <p>Desp: JsonValidator：合法与非法输入、出错位置、根值类型、深度和大小限制、超过大小时停止读取</p>
+ */
+public class JsonValidatorTest {
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void validDocuments() {
+        JsonValidator validator = JsonValidator.create();
+        assertTrue(validator.validate("{\"a\":[1,{\"b\":null}],\"c\":\"中\"}").isValid());
+        assertTrue(validator.validate(" [] \n").isValid());
+        assertTrue(validator.validate(utf8("{}")).isValid());
+        assertEquals(-1, validator.validate("[]").getOffset());
+    }
+
+    @Test
+    public void invalidDocumentsReportOffset() {
+        JsonValidator validator = JsonValidator.create();
+        //语法错误的位置为 Jackson 读到出错字符之后的位置
+        JsonValidator.Result result = validator.validate("[1,2,}");
+        assertFalse(result.isValid());
+        assertEquals(6, result.getOffset());
+
+        result = validator.validate("{\"a\":1} x");
+        assertFalse(result.isValid());
+        assertEquals(9, result.getOffset());
+
+        assertFalse(validator.validate("{\"a\":1").isValid());
+        assertFalse(validator.validate("").isValid());
+        assertFalse(validator.validate((String) null).isValid());
+        assertFalse(validator.validate("{} {}").isValid());
+    }
+
+    @Test
+    public void byteOffsetIsRelativeToStart() {
+        byte[] bytes = utf8("xx[1,]");
+        JsonValidator.Result result = JsonValidator.create().validate(bytes, 2, 4);
+        assertFalse(result.isValid());
+        assertEquals(4, result.getOffset());
+    }
+
+    @Test
+    public void rootScalarDependsOnRequireContainer() {
+        assertFalse(JsonValidator.create().validate("1").isValid());
+        assertFalse(JsonValidator.create().validate("\"s\"").isValid());
+        assertTrue(JsonValidator.create().requireContainer(false).validate("1").isValid());
+        assertTrue(JsonValidator.create().requireContainer(false).validate("\"s\"").isValid());
+    }
+
+    @Test
+    public void maxDepth() {
+        JsonValidator validator = JsonValidator.create().maxDepth(3);
+        assertTrue(validator.validate("[[[1]]]").isValid());
+        JsonValidator.Result result = validator.validate("[[[[1]]]]");
+        assertFalse(result.isValid());
+        assertEquals(3, result.getOffset());
+        assertTrue(result.getMessage().contains("Depth"));
+    }
+
+    @Test
+    public void maxSizeForAllInputs() {
+        JsonValidator validator = JsonValidator.create().maxSize(8);
+        assertTrue(validator.validate("[1,2,3]").isValid());
+        assertFalse(validator.validate("[1,2,3,4,5]").isValid());
+        assertFalse(validator.validate(utf8("[1,2,3,4,5]")).isValid());
+        assertFalse(validator.validate(ByteBuffer.wrap(utf8("[1,2,3,4,5]"))).isValid());
+        ByteBuffer direct = ByteBuffer.allocateDirect(11);
+        direct.put(utf8("[1,2,3,4,5]")).flip();
+        assertFalse(validator.validate(direct).isValid());
+        assertEquals(0, direct.position());
+        assertTrue(validator.validate(new ByteArrayInputStream(utf8("[1,2,3]"))).isValid());
+        assertFalse(validator.validate(new ByteArrayInputStream(utf8("[1,2,3,4,5]"))).isValid());
+    }
+
+    @Test
+    public void oversizedStreamStopsReading() {
+        //无限长的数组，超过大小后应立即停止读取
+        AtomicLong read = new AtomicLong();
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return 0 == read.getAndIncrement() ? '[' : (read.get() % 2 == 0 ? '1' : ',');
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                for (int i = 0; i < len; i++) {
+                    b[off + i] = (byte) read();
+                }
+                return len;
+            }
+        };
+        JsonValidator.Result result = JsonValidator.create().maxSize(64 * 1024).validate(endless);
+        assertFalse(result.isValid());
+        assertEquals(64 * 1024, result.getOffset());
+        assertTrue(read.get() < 128 * 1024);
+    }
+
+    @Test
+    public void sizeLimitExceptionDeclaresSerialVersionUid() throws Exception {
+        Class<?> type = Class.forName(JsonValidator.class.getName() + "$SizeLimitException");
+        Field field = type.getDeclaredField("serialVersionUID");
+        assertTrue(Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers()));
+        assertEquals(1L, ObjectStreamClass.lookup(type).getSerialVersionUID());
+    }
+}
@@ -0,0 +1,83 @@
+package cn.weicm.json;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <p>Author: weicm</p>
+ * <p>Date: 2026/10/17 22:15</p>
+ * <p>Desp: PathCache：命中计数、容量上限与淘汰、非法表达式、并发获取</p>
+ */
+public class PathCacheTest {
+
+    @Test
+    public void repeatedPathIsCompiledOnce() {
+        PathCache cache = new PathCache(8);
+        JsonPath first = cache.get("$.a.b");
+        assertSame(first, cache.get("$.a.b"));
+        assertSame(first, cache.get("$.a.b"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void sizeIsBoundedByEviction() {
+        PathCache cache = new PathCache(4);
+        for (int i = 0; i < 10; i++) {
+            cache.get("$.f" + i);
+        }
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.getEvictions());
+        assertEquals(10, cache.getMisses());
+    }
+
+    @Test
+    public void invalidPathIsNotCached() {
+        PathCache cache = new PathCache(4);
+        assertThrows(InvalidPathException.class, () -> cache.get("$.["));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void clearKeepsStatistics() {
+        PathCache cache = new PathCache(4);
+        cache.get("$.a");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitRate(), 0);
+        cache.get("$.a");
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void concurrentGetReturnsSameInstance() throws Exception {
+        PathCache cache = new PathCache(16);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonPath>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(pool.submit(() -> cache.get("$.store.book[0].title")));
+            }
+            JsonPath expected = cache.get("$.store.book[0].title");
+            for (Future<JsonPath> future : futures) {
+                assertSame(expected, future.get());
+            }
+            assertEquals(1, cache.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}